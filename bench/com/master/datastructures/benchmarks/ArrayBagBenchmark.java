@@ -0,0 +1,108 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.generics.ArrayBag;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures ArrayBag against an ArrayList holding the same elements.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArrayBagBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Integer elements[];
+    private ArrayBag<Integer> bag;
+    private ArrayList<Integer> list;
+    private Integer target;
+
+    @Setup
+    public void setUp(){
+        int values[] = BenchmarkData.randomInts(size);
+
+        elements = new Integer[size];
+        for(int i = 0; i < size; i++){
+            elements[i] = values[i];
+        }
+        bag = new ArrayBag<>();
+        bag.addMany(elements);
+        list = new ArrayList<>(size);
+        Collections.addAll(list, elements);
+        target = elements[size / 2];
+    }
+
+    @Benchmark
+    public ArrayBag<Integer> add(){
+        ArrayBag<Integer> answer = new ArrayBag<>();
+        for(Integer element : elements){
+            answer.add(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addBaseline(){
+        ArrayList<Integer> answer = new ArrayList<>();
+        for(Integer element : elements){
+            answer.add(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public int countOccurrences(){
+        return bag.countOccurrences(target);
+    }
+
+    @Benchmark
+    public int countOccurrencesBaseline(){
+        return Collections.frequency(list, target);
+    }
+
+    @Benchmark
+    public Integer grab(){
+        return bag.grab();
+    }
+
+    @Benchmark
+    public Integer grabBaseline(){
+        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    }
+
+    @Benchmark
+    public boolean removeAndAdd(){
+        boolean answer = bag.remove(target);
+        bag.add(target);
+        return answer;
+    }
+
+    @Benchmark
+    public ArrayBag<Integer> cloneBag(){
+        return bag.clone();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> cloneBaseline(){
+        return new ArrayList<>(list);
+    }
+
+    @Benchmark
+    public ArrayBag<Integer> union(){
+        return ArrayBag.union(bag, bag);
+    }
+}
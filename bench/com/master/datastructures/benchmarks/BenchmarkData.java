@@ -0,0 +1,30 @@
+package com.master.datastructures.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Input data shared by the benchmarks. A fixed seed keeps runs comparable between releases.
+ * @author simon_000
+ */
+final class BenchmarkData {
+    static final long SEED = 42L;
+
+    private BenchmarkData(){
+    }
+
+    /**
+     * Make an array of random integers drawn from a range about as wide as the array, so that
+     * searches find repeated values
+     * @param size - the length of the array
+     * @return The array
+     */
+    static int[] randomInts(int size){
+        Random generator = new Random(SEED);
+        int answer[] = new int[size];
+
+        for(int i = 0; i < size; i++){
+            answer[i] = generator.nextInt(Math.max(size, 1));
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,83 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.ConcurrentIntLinkedBag;
+import com.master.datastructures.linkedlists.IntLinkedBag;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Multi-threaded throughput of ConcurrentIntLinkedBag against an IntLinkedBag guarded by synchronized.
+ * Run with "-t" to change the number of threads (the default uses one thread per core).
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(Threads.MAX)
+public class ConcurrentIntLinkedBagBenchmark {
+
+    @Param({"1000"})
+    public int range;  // elements are drawn from 0 to range-1
+
+    private ConcurrentIntLinkedBag concurrentBag;
+    private IntLinkedBag lockedBag;
+
+    @Setup(Level.Iteration)
+    public void setUp(){
+        concurrentBag = new ConcurrentIntLinkedBag();
+        lockedBag = new IntLinkedBag();
+    }
+
+    @Benchmark
+    public void ingest(){
+        concurrentBag.add(ThreadLocalRandom.current().nextInt(range));
+    }
+
+    @Benchmark
+    public void ingestSynchronized(){
+        int element = ThreadLocalRandom.current().nextInt(range);
+        synchronized(lockedBag){
+            lockedBag.add(element);
+        }
+    }
+
+    @Benchmark
+    public void ingestBatch(){
+        int element = ThreadLocalRandom.current().nextInt(range);
+        concurrentBag.addMany(element, element + 1, element + 2, element + 3);
+    }
+
+    @Benchmark
+    public void ingestBatchSynchronized(){
+        int element = ThreadLocalRandom.current().nextInt(range);
+        synchronized(lockedBag){
+            lockedBag.addMany(element, element + 1, element + 2, element + 3);
+        }
+    }
+
+    @Benchmark
+    public boolean churn(){
+        int element = ThreadLocalRandom.current().nextInt(range);
+        concurrentBag.add(element);
+        return concurrentBag.remove(element);
+    }
+
+    @Benchmark
+    public boolean churnSynchronized(){
+        int element = ThreadLocalRandom.current().nextInt(range);
+        synchronized(lockedBag){
+            lockedBag.add(element);
+            return lockedBag.remove(element);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.DoubleLinkedSeq;
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures draining a sequence from its last element: DoubleLinkedSeq reaches and removes the tail in
+ * constant time, while IntLinkedSeq must walk from the head to the last element before each removal. The sizes stop at
+ * 10000 because the IntLinkedSeq case is quadratic.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DoubleLinkedSeqBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private DoubleLinkedSeq doubleSeq;
+    private IntLinkedSeq intSeq;
+
+    @Setup(Level.Invocation)
+    public void setUp(){
+        int elements[] = BenchmarkData.randomInts(size);
+
+        doubleSeq = new DoubleLinkedSeq();
+        intSeq = new IntLinkedSeq();
+        for(int element : elements){
+            doubleSeq.addAfter(element);
+            intSeq.addAfter(element);
+        }
+    }
+
+    @Benchmark
+    public int tailDrain(){
+        while(doubleSeq.size() > 0){
+            doubleSeq.end();
+            doubleSeq.removeCurrent();
+        }
+        return doubleSeq.size();
+    }
+
+    @Benchmark
+    public int tailDrainBaseline(){
+        // IntLinkedSeq cannot move backwards, so each removal walks from the head to the last element
+        while(intSeq.size() > 0){
+            intSeq.start();
+            for(int i = intSeq.size() - 1; i > 0; i--){
+                intSeq.advance();
+            }
+            intSeq.removeCurrent();
+        }
+        return intSeq.size();
+    }
+}
@@ -0,0 +1,135 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.generics.IntArrayBag;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the bulk scans of IntArrayBag against plain one-element-at-a-time loops over the same array.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntArrayBagBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private int values[];
+    private IntArrayBag bag;
+    private int target;
+    private int low;
+    private int high;
+
+    @Setup
+    public void setUp(){
+        values = BenchmarkData.randomInts(size);
+        bag = new IntArrayBag(size);
+        bag.addMany(values);
+        target = values[size / 2];
+        low = Integer.MIN_VALUE / 2;
+        high = Integer.MAX_VALUE / 2;
+    }
+
+    @Benchmark
+    public int countOccurrences(){
+        return bag.countOccurrences(target);
+    }
+
+    @Benchmark
+    public int countOccurrencesBaseline(){
+        int answer = 0;
+        for(int i = 0; i < values.length; i++){
+            if(values[i] == target){
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public boolean containsMissing(){
+        return bag.contains(target ^ 0x5bd1e995);
+    }
+
+    @Benchmark
+    public boolean containsMissingBaseline(){
+        int missing = target ^ 0x5bd1e995;
+        for(int i = 0; i < values.length; i++){
+            if(values[i] == missing){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public int countInRange(){
+        return bag.countInRange(low, high);
+    }
+
+    @Benchmark
+    public int countInRangeBaseline(){
+        int answer = 0;
+        for(int i = 0; i < values.length; i++){
+            if(values[i] >= low && values[i] <= high){
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public int min(){
+        return bag.min();
+    }
+
+    @Benchmark
+    public int minBaseline(){
+        int answer = values[0];
+        for(int i = 1; i < values.length; i++){
+            if(values[i] < answer){
+                answer = values[i];
+            }
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public int max(){
+        return bag.max();
+    }
+
+    @Benchmark
+    public int maxBaseline(){
+        int answer = values[0];
+        for(int i = 1; i < values.length; i++){
+            if(values[i] > answer){
+                answer = values[i];
+            }
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public long sum(){
+        return bag.sum();
+    }
+
+    @Benchmark
+    public long sumBaseline(){
+        long answer = 0;
+        for(int i = 0; i < values.length; i++){
+            answer += values[i];
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,110 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.IntLinkedBag;
+import com.master.datastructures.linkedlists.IntNodePool;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures IntLinkedBag against an ArrayList of Integer holding the same elements.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntLinkedBagBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private int elements[];
+    private IntLinkedBag bag;
+    private IntLinkedBag pooledBag;
+    private ArrayList<Integer> list;
+    private int target;
+
+    @Setup
+    public void setUp(){
+        elements = BenchmarkData.randomInts(size);
+        bag = new IntLinkedBag();
+        bag.addMany(elements);
+        pooledBag = new IntLinkedBag();
+        pooledBag.setNodePool(new IntNodePool(IntNodePool.DEFAULT_MAX_SIZE));
+        pooledBag.addMany(elements);
+        list = new ArrayList<>(size);
+        for(int element : elements){
+            list.add(element);
+        }
+        target = elements[size / 2];
+    }
+
+    @Benchmark
+    public IntLinkedBag addMany(){
+        IntLinkedBag answer = new IntLinkedBag();
+        answer.addMany(elements);
+        return answer;
+    }
+
+    @Benchmark
+    public ArrayList<Integer> addManyBaseline(){
+        ArrayList<Integer> answer = new ArrayList<>();
+        for(int element : elements){
+            answer.add(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public int countOccurrences(){
+        return bag.countOccurrences(target);
+    }
+
+    @Benchmark
+    public int countOccurrencesBaseline(){
+        return Collections.frequency(list, target);
+    }
+
+    @Benchmark
+    public int grab(){
+        return bag.grab();
+    }
+
+    @Benchmark
+    public boolean removeAndAdd(){
+        boolean answer = bag.remove(target);
+        bag.add(target);
+        return answer;
+    }
+
+    @Benchmark
+    public boolean removeAndAddPooled(){
+        // The removed head is reused by the add, so the cycle allocates nothing
+        boolean answer = pooledBag.remove(target);
+        pooledBag.add(target);
+        return answer;
+    }
+
+    @Benchmark
+    public IntLinkedBag union(){
+        return IntLinkedBag.union(bag, bag);
+    }
+
+    @Benchmark
+    public IntLinkedBag cloneBag(){
+        return bag.clone();
+    }
+
+    @Benchmark
+    public ArrayList<Integer> cloneBaseline(){
+        return new ArrayList<>(list);
+    }
+}
@@ -0,0 +1,125 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.IntGapSeq;
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures IntLinkedSeq against a java.util.LinkedList of Integer, and against IntGapSeq, which has the
+ * same cursor operations.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IntLinkedSeqBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private int elements[];
+    private IntLinkedSeq seq;
+    private IntGapSeq gapSeq;
+    private LinkedList<Integer> list;
+
+    @Setup
+    public void setUp(){
+        elements = BenchmarkData.randomInts(size);
+        seq = new IntLinkedSeq();
+        gapSeq = new IntGapSeq();
+        list = new LinkedList<>();
+        for(int element : elements){
+            seq.addAfter(element);
+            gapSeq.addAfter(element);
+            list.add(element);
+        }
+    }
+
+    @Benchmark
+    public IntLinkedSeq addAfter(){
+        IntLinkedSeq answer = new IntLinkedSeq();
+        for(int element : elements){
+            answer.addAfter(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public LinkedList<Integer> addAfterBaseline(){
+        LinkedList<Integer> answer = new LinkedList<>();
+        for(int element : elements){
+            answer.add(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public long traverse(){
+        long sum = 0;
+        for(seq.start(); seq.isCurrent(); seq.advance()){
+            sum += seq.getCurrent();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long traverseBaseline(){
+        long sum = 0;
+        for(Integer element : list){
+            sum += element;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public IntGapSeq addAfterGap(){
+        IntGapSeq answer = new IntGapSeq();
+        for(int element : elements){
+            answer.addAfter(element);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public long traverseGap(){
+        long sum = 0;
+        for(gapSeq.start(); gapSeq.isCurrent(); gapSeq.advance()){
+            sum += gapSeq.getCurrent();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int editAtCursor(){
+        // Insert before every element, then remove the inserted elements again
+        for(seq.start(); seq.isCurrent(); seq.advance()){
+            seq.addBefore(0);
+            seq.advance();
+        }
+        for(seq.start(); seq.isCurrent(); seq.advance()){
+            seq.removeCurrent();
+        }
+        return seq.size();
+    }
+
+    @Benchmark
+    public int editAtCursorGap(){
+        for(gapSeq.start(); gapSeq.isCurrent(); gapSeq.advance()){
+            gapSeq.addBefore(0);
+            gapSeq.advance();
+        }
+        for(gapSeq.start(); gapSeq.isCurrent(); gapSeq.advance()){
+            gapSeq.removeCurrent();
+        }
+        return gapSeq.size();
+    }
+}
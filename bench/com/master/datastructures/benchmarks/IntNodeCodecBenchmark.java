@@ -0,0 +1,108 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.IntLinkedBag;
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures writing and reading sequences and bags through IntNodeCodec against writing the raw ints
+ * through the same kind of channel.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IntNodeCodecBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    private int elements[];
+    private IntLinkedSeq seq;
+    private IntLinkedBag bag;
+    private Path seqFile;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        elements = BenchmarkData.randomInts(size);
+        seq = new IntLinkedSeq();
+        for(int element : elements){
+            seq.addAfter(element);
+        }
+        bag = new IntLinkedBag();
+        bag.addMany(elements);
+        seqFile = Files.createTempFile("codec", ".seq");
+        file = Files.createTempFile("codec", ".bin");
+        try(FileChannel out = FileChannel.open(seqFile, StandardOpenOption.WRITE)){
+            seq.writeTo(out, false);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(seqFile);
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long writeSeq() throws IOException {
+        try(FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            seq.writeTo(out, false);
+            return out.size();
+        }
+    }
+
+    @Benchmark
+    public long writeBagSorted() throws IOException {
+        try(FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            bag.writeTo(out, true);
+            return out.size();
+        }
+    }
+
+    @Benchmark
+    public long writeBaseline() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+        try(FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            for(int element : elements){
+                if(!buffer.hasRemaining()){
+                    buffer.flip();
+                    while(buffer.hasRemaining()){
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                buffer.putInt(element);
+            }
+            buffer.flip();
+            while(buffer.hasRemaining()){
+                out.write(buffer);
+            }
+            return out.size();
+        }
+    }
+
+    @Benchmark
+    public IntLinkedSeq readSeq() throws IOException {
+        try(FileChannel in = FileChannel.open(seqFile, StandardOpenOption.READ)){
+            return IntLinkedSeq.readFrom(in);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.generics.LinkedBag;
+import com.master.datastructures.generics.Lister;
+import com.master.datastructures.linkedlists.Node;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures iteration of a Node chain with a Lister against iteration of a java.util.LinkedList, and a
+ * filter pass that removes through the Lister of a LinkedBag.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ListerBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private Node<Integer> head;
+    private LinkedList<Integer> list;
+    private Integer elements[];
+
+    @Setup
+    public void setUp(){
+        int elements[] = BenchmarkData.randomInts(size);
+
+        head = null;
+        list = new LinkedList<>();
+        for(int i = size - 1; i >= 0; i--){
+            head = new Node<>(elements[i], head);
+        }
+        for(int element : elements){
+            list.add(element);
+        }
+        this.elements = new Integer[size];
+        for(int i = 0; i < size; i++){
+            this.elements[i] = elements[i];
+        }
+    }
+
+    @Benchmark
+    public long iterate(){
+        Lister<Integer> lister = new Lister<>(head);
+        long sum = 0;
+        while(lister.hasNext()){
+            sum += lister.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long iterateBaseline(){
+        Iterator<Integer> iterator = list.iterator();
+        long sum = 0;
+        while(iterator.hasNext()){
+            sum += iterator.next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int removeEvenWhileIterating(){
+        LinkedBag<Integer> bag = new LinkedBag<>();
+        bag.addMany(elements);
+        Iterator<Integer> lister = bag.iterator();
+        while(lister.hasNext()){
+            if((lister.next() & 1) == 0){
+                lister.remove();
+            }
+        }
+        return bag.size();
+    }
+
+    @Benchmark
+    public int removeEvenWhileIteratingBaseline(){
+        LinkedList<Integer> copy = new LinkedList<>(list);
+        Iterator<Integer> iterator = copy.iterator();
+        while(iterator.hasNext()){
+            if((iterator.next() & 1) == 0){
+                iterator.remove();
+            }
+        }
+        return copy.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.master.datastructures.benchmarks;
+
+import com.master.datastructures.linkedlists.IntNode;
+import com.master.datastructures.linkedlists.Node;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the static list utilities of IntNode and Node against the matching java.util operations.
+ * @author simon_000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NodeUtilitiesBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    private IntNode intHead;
+    private Node<Integer> head;
+    private LinkedList<Integer> list;
+    private int missing;
+
+    @Setup
+    public void setUp(){
+        int elements[] = BenchmarkData.randomInts(size);
+
+        intHead = null;
+        head = null;
+        list = new LinkedList<>();
+        for(int i = size - 1; i >= 0; i--){
+            intHead = new IntNode(elements[i], intHead);
+            head = new Node<>(elements[i], head);
+        }
+        for(int element : elements){
+            list.add(element);
+        }
+        missing = -1;  // randomInts never produces a negative value, so searches scan the whole list
+    }
+
+    @Benchmark
+    public int intListLength(){
+        return IntNode.listLength(intHead);
+    }
+
+    @Benchmark
+    public int listLength(){
+        return Node.listLength(head);
+    }
+
+    @Benchmark
+    public IntNode intListSearch(){
+        return IntNode.listSearch(intHead, missing);
+    }
+
+    @Benchmark
+    public Node<Integer> listSearch(){
+        return Node.listSearch(head, missing);
+    }
+
+    @Benchmark
+    public int listSearchBaseline(){
+        return list.indexOf(missing);
+    }
+
+    @Benchmark
+    public IntNode intListPosition(){
+        return IntNode.listPosition(intHead, size - 1);
+    }
+
+    @Benchmark
+    public Integer listPositionBaseline(){
+        return list.get(size - 1);
+    }
+
+    @Benchmark
+    public IntNode intListCopy(){
+        return IntNode.listCopy(intHead);
+    }
+
+    @Benchmark
+    public Node listCopy(){
+        return Node.listCopy(head);
+    }
+
+    @Benchmark
+    public LinkedList<Integer> listCopyBaseline(){
+        return new LinkedList<>(list);
+    }
+
+    @Benchmark
+    public ArrayList<Integer> listCopyArrayBaseline(){
+        return new ArrayList<>(list);
+    }
+}
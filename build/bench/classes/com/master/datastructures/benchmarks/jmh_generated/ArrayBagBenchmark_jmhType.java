@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class ArrayBagBenchmark_jmhType extends ArrayBagBenchmark_jmhType_B3 {
+}
+
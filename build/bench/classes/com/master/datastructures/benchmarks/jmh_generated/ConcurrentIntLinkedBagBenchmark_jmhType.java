@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class ConcurrentIntLinkedBagBenchmark_jmhType extends ConcurrentIntLinkedBagBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class DoubleLinkedSeqBenchmark_jmhType extends DoubleLinkedSeqBenchmark_jmhType_B3 {
+}
+
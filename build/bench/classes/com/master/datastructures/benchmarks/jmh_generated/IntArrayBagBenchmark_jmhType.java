@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class IntArrayBagBenchmark_jmhType extends IntArrayBagBenchmark_jmhType_B3 {
+}
+
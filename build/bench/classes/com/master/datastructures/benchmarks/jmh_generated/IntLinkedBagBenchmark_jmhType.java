@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class IntLinkedBagBenchmark_jmhType extends IntLinkedBagBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class IntLinkedSeqBenchmark_jmhType extends IntLinkedSeqBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class IntNodeCodecBenchmark_jmhType extends IntNodeCodecBenchmark_jmhType_B3 {
+}
+
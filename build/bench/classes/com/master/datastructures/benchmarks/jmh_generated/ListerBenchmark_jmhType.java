@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class ListerBenchmark_jmhType extends ListerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package com.master.datastructures.benchmarks.jmh_generated;
+public class NodeUtilitiesBenchmark_jmhType extends NodeUtilitiesBenchmark_jmhType_B3 {
+}
+
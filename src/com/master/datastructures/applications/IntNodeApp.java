@@ -28,6 +28,11 @@ public class IntNodeApp {
         }
         
         System.out.println("============");
-        System.out.println("Max: " + IntNode.listSort(head).getData());
+        // listSort puts the list in ascending order, so the largest element is in the last node
+        cursor = IntNode.listSort(head);
+        while(cursor.getLink() != null){
+            cursor = cursor.getLink();
+        }
+        System.out.println("Max: " + cursor.getData());
     }
 }
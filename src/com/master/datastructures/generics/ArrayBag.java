@@ -5,12 +5,27 @@
     1. The capacity of one of these bags can change after it's created, but the maximum capacity is limited
        by the amount of free memory on the machine. The constructors, add, clone, and union will result in
        an OutOfMemoryError when free memory is exhausted.
-    2. A bag's capacity cannot exceed the largest integer, 2,147,483,647 (Integer.MAX_VALUE).
-       Any attempt to create a larger capacity results in failure due to an arithmetic overflow.
-    3. Because of the slow linear algorithms of this class, large bags will have poor performance.
+    2. A bag's capacity cannot exceed GrowthPolicy.MAX_CAPACITY, a little below Integer.MAX_VALUE.
+       Any attempt to grow a bag beyond that capacity results in an OutOfMemoryError.
+    3. Because of the slow linear algorithms of this class, large bags will have poor performance, unless
+       indexed mode is turned on (see setIndexed).
   */
 package com.master.datastructures.generics;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A generic ArrayBag
  * @author simon_000
@@ -23,10 +38,35 @@ public class ArrayBag<E> implements Cloneable{
         2. For an empty bag, we do not care what is stored in any of data;
            for a non-empty bag, the elements in the bag are stored in data[0] through data[manyItems-1], and
            we don't care what's in the rest of data
+        3. If shared is true, the data array may also be used by a clone or a snapshot, so it must be copied
+           before this bag changes it
+        4. In indexed mode, index is either null (to be rebuilt before the next lookup) or maps each distinct
+           element to the Slots that list every position of data holding it, and slotPosition[i] is where
+           position i appears in its element's Slots
     */
     private Object data[];  // The bag stores an array of Objects. At run time, each Object will actually
                             // have type E.
     private int manyItems;
+    private boolean copyOnWrite;    // true if clones share the data array until one of the bags changes
+    private boolean shared;         // true if the data array may be in use by another bag or a snapshot
+    private GrowthPolicy growthPolicy;  // decides the new capacity when the bag runs out of room
+    private boolean autoShrink;     // true if remove gives back memory when the bag becomes sparse
+    private boolean indexed;        // true if lookups use the hash side index
+    private HashMap<Object, Slots> index;   // element to the positions that hold it (or null)
+    private int slotPosition[];     // parallel to data: the place of each position in its Slots
+    
+    private static final int MIN_SHRINK_CAPACITY = 10;  // remove never shrinks the capacity below this
+    
+    /**
+     * The number of elements below which unionAll copies on the calling thread alone, and the smallest range
+     * that a parallel copy task is given
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    
+    // Sizes used by memoryFootprint, for a 64-bit virtual machine with compressed references
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
     
     /**
      * Initialize an empty bag with an initial capacity of 10.
@@ -36,6 +76,7 @@ public class ArrayBag<E> implements Cloneable{
         final int INITIAL_CAPACITY = 10;
         manyItems = 0;
         data = new Object[INITIAL_CAPACITY];
+        growthPolicy = GrowthPolicy.DEFAULT;
     }
     
     /**
@@ -52,21 +93,22 @@ public class ArrayBag<E> implements Cloneable{
         }
         manyItems = 0;
         data = new Object[initialCapacity];
+        growthPolicy = GrowthPolicy.DEFAULT;
     }
     
     /**
      * Add a new element to this bag. If this new element would take this bag beyond its current capacity, then the 
-     * capacity is increased before adding the new element.
+     * capacity is increased (as the growth policy decides) before adding the new element.
      * @param element - the new element that is being added
      */
     public void add(E element){
         if(manyItems == data.length){
-            // Double the capacity and add 1 - this works even if manyItems is 0
-            // In the case that manyItems*2+1 is beyond Integer.MAX_VALUE, there will be an arithmetic overflow
-            ensureCapacity(manyItems * 2 + 1);
+            grow(manyItems + 1);
         }
+        unshare();
         data[manyItems] = element;
         manyItems++;
+        indexSlots(manyItems - 1);
     }
     
     /**
@@ -74,31 +116,39 @@ public class ArrayBag<E> implements Cloneable{
      * @param addend 
      */
     public void addAll(ArrayBag<E> addend){
+        int first = manyItems;  // the first new position, saved because addend may be this bag
+        
         // If addend is null, then a NullPointerException is thrown
-        ensureCapacity(manyItems + addend.manyItems);
+        if(manyItems + addend.manyItems > data.length || manyItems + addend.manyItems < 0){
+            grow(manyItems + addend.manyItems);
+        }
+        unshare();
         
         System.arraycopy(addend.data, 0, data, manyItems, addend.manyItems);
         manyItems += addend.manyItems;
+        indexSlots(first);
     }
     
     /**
      * Add a variable number of new elements to this bag. If these new elements would take this bag beyond its current
-     * capacity, then the capacity is increased before adding the new elements.
-     * Note: Creating a bag with capacity beyond Integer.MAX_VALUE causes arithmetic overflow
+     * capacity, then the capacity is increased (as the growth policy decides) before adding the new elements.
      * @param elements - a variable number of new elements that are being added
      */
     @SuppressWarnings("unchecked")
     public void addMany(E... elements){
-        if(manyItems + elements.length > data.length){
-            // Ensure twice as much space as we need
-            ensureCapacity((manyItems + elements.length) * 2);
+        if(manyItems + elements.length > data.length || manyItems + elements.length < 0){
+            grow(manyItems + elements.length);
         }
+        unshare();
         System.arraycopy(elements, 0, data, manyItems, elements.length);
         manyItems += elements.length;
+        indexSlots(manyItems - elements.length);
     }
     
     /**
-     * Generate a copy of this bag.
+     * Generate a copy of this bag. In copy-on-write mode the copy shares the data array with this bag, so
+     * cloning takes constant time and the array is copied only when one of the two bags is changed. The copy of
+     * an indexed bag is indexed too, but builds its index only when it is first needed.
      * @return The return value is a copy of this bag. Subsequent changes to the copy will not affect the original.
      */
     @SuppressWarnings("unchecked")
@@ -112,7 +162,16 @@ public class ArrayBag<E> implements Cloneable{
             throw new RuntimeException("This class does not implement Cloneable");
         }
         
-        answer.data = data.clone();
+        if(copyOnWrite){
+            shared = true;
+            answer.shared = true;
+        }
+        else{
+            answer.data = data.clone();
+            answer.shared = false;
+        }
+        answer.index = null;
+        answer.slotPosition = null;
         return answer;
     }
     
@@ -121,10 +180,17 @@ public class ArrayBag<E> implements Cloneable{
      * @param target - the reference to an E object to be counted
      * @return The number of times that target occurs in this bag
      *         If target is non-null, then the occurrences are found using the target.equals method
+     *         (and target.hashCode in indexed mode)
      */
     public int countOccurrences(E target){
         int answer;
         int index;
+        Slots slots;
+        
+        if(indexed){
+            slots = sideIndex().get(target);
+            return (slots == null) ? 0 : slots.count;
+        }
         
         answer = 0;
         
@@ -153,12 +219,8 @@ public class ArrayBag<E> implements Cloneable{
      * @param minimumCapacity - the new capacity for this bag
      */
     public void ensureCapacity(int minimumCapacity){
-        Object[] biggerArray;
-        
         if(data.length < minimumCapacity){
-            biggerArray = new Object[minimumCapacity];
-            System.arraycopy(data, 0, biggerArray, 0, manyItems);
-            data = biggerArray;
+            resize(minimumCapacity);
         }
     }
     
@@ -176,29 +238,87 @@ public class ArrayBag<E> implements Cloneable{
      * @return A randomly selected element form this bag
      */
     public E grab(){
+        return grab(ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Accessor method to retrieve a random element from this bag, using a given random number generator.
+     * @param generator - the source of random numbers
+     * @return A randomly selected element from this bag
+     */
+    @SuppressWarnings("unchecked")
+    public E grab(Random generator){
         int i;
         
         if(manyItems == 0){
             throw new IllegalStateException("Bag size is zero.");
         }
         
-        i = (int) (Math.random() * manyItems);  // from 0 to manyItems-1
+        i = generator.nextInt(manyItems);  // from 0 to manyItems-1
         
         return (E) data[i];
     }
     
+    /**
+     * Accessor method to retrieve several random elements from this bag in one call.
+     * @param k - the number of elements to retrieve
+     * @param withReplacement - true if the same copy of an element may be chosen more than once; false if
+     *        each copy is chosen at most once, in which case k must not exceed the size of this bag
+     * @param generator - the source of random numbers
+     * @return A new bag holding the k randomly selected elements
+     * @exception IllegalArgumentException
+     *      Indicates k is negative, or larger than the size of this bag when sampling without replacement
+     */
+    public ArrayBag<E> grabMany(int k, boolean withReplacement, Random generator){
+        ArrayBag<E> answer;
+        int chosen[];
+        int i;
+        
+        if(k < 0){
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+        if(k > 0 && manyItems == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        answer = new ArrayBag<E>(k);
+        if(withReplacement){
+            for(i = 0; i < k; i++){
+                answer.data[i] = data[generator.nextInt(manyItems)];
+            }
+        }
+        else{
+            chosen = Sampling.sampleIndexes(manyItems, k, generator);
+            for(i = 0; i < k; i++){
+                answer.data[i] = data[chosen[i]];
+            }
+        }
+        answer.manyItems = k;
+        
+        return answer;
+    }
+    
     /**
      * Remove one copy of a specified element from this bag.
+     * In indexed mode this takes constant expected time.
      * @param target- the element to remove from this bag
      * @return True if target was found in this bag and one copy of target was removed, otherwise this
      *         bag remains unchanged and returns false
      */
     public boolean remove(E target){
         int index;  // The location of target in the data array
+        Slots slots;
         
+        if(indexed){
+            slots = sideIndex().get(target);
+            if(slots == null){
+                return false;
+            }
+            index = slots.slots[slots.count - 1];
+        }
         // First, set index to the location of target in the data array
         // If target is not in the array, then index will be set equal to manyItems
-        if(target == null){
+        else if(target == null){
             // Find the first occurrence of the null reference in the bag
             index = 0;
             while((index < manyItems) && (data[index] != null)){
@@ -218,10 +338,16 @@ public class ArrayBag<E> implements Cloneable{
         }
         else{
             // The target was found at data[index]
+            unshare();
             manyItems--;
+            unindexSlot(index, manyItems);
             data[index] = data[manyItems];
             data[manyItems] = null; // The unused array location is set to null to
                                     // allow Java to collect the unused memory
+            if(autoShrink && manyItems < data.length / 4 && data.length > MIN_SHRINK_CAPACITY){
+                // Shrink to twice the size, so that the bag must double before it grows again
+                resize(Math.max(manyItems * 2, MIN_SHRINK_CAPACITY));
+            }
             return true;
         }
     }
@@ -238,19 +364,15 @@ public class ArrayBag<E> implements Cloneable{
      * Reduce the current capacity of this bag to its size (the number of elements it contains).
      */
     public void trimToSize(){
-        Object[] trimmedArray;
-        
         if(data.length != manyItems){
-            trimmedArray = new Object[manyItems];
-            System.arraycopy(data, 0, trimmedArray, 0, manyItems);
-            data = trimmedArray;
+            resize(manyItems);
         }
     }
     
     /**
-     * Create a new bag that contains all the elements from two other bags.
-     * Note: An attempt to create a bag with capacity beyond Integer.MAX_VALUE will cause the bag
-     *       to fail with an arithmetic overflow.
+     * Create a new bag that contains all the elements from two other bags. The new bag's capacity is its size.
+     * Note: An attempt to create a bag with more than GrowthPolicy.MAX_CAPACITY elements results in an
+     *       OutOfMemoryError.
      * @param <E> Indicates a generic bag return
      * @param b1 - The first bag
      * @param b2 - The second bag
@@ -264,12 +386,427 @@ public class ArrayBag<E> implements Cloneable{
             throw new NullPointerException("b1 or b2 is null");
         }
         
-        ArrayBag<E> answer = new ArrayBag<E>(b1.getCapacity() + b2.getCapacity());
+        ArrayBag<E> answer = new ArrayBag<E>(GrowthPolicy.clamp(0, b1.manyItems + b2.manyItems));
         
         System.arraycopy(b1.data, 0, answer.data, 0, b1.manyItems);
         System.arraycopy(b2.data, 0, answer.data, b1.manyItems, b2.manyItems);
         answer.manyItems = b1.manyItems + b2.manyItems;
+        answer.indexed = b1.indexed;    // the index is built when it is first needed
+        return answer;
+    }
+    
+    /**
+     * Create a new bag that contains all the elements from a collection of bags. Large inputs are copied in
+     * parallel on the common ForkJoinPool.
+     * @param <E> Indicates a generic bag return
+     * @param bags - the bags to combine
+     * @return A new bag that is the union of all the bags
+     * @exception NullPointerException
+     *      Indicates that bags is or contains null
+     */
+    public static <E> ArrayBag<E> unionAll(Collection<? extends ArrayBag<E>> bags){
+        return unionAll(bags, DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Create a new bag that contains all the elements from a collection of bags. The new bag's capacity is
+     * its size. The copying is split into ranges of the new array that are filled in parallel on the common
+     * ForkJoinPool.
+     * Note: the bags must not change while this method runs
+     * @param <E> Indicates a generic bag return
+     * @param bags - the bags to combine
+     * @param parallelThreshold - the number of elements below which the copy is made sequentially, and the
+     *        smallest range that is given to one task
+     * @return A new bag that is the union of all the bags
+     * @exception NullPointerException
+     *      Indicates that bags is or contains null
+     * @exception IllegalArgumentException
+     *      Indicates parallelThreshold is less than 1
+     */
+    public static <E> ArrayBag<E> unionAll(Collection<? extends ArrayBag<E>> bags, int parallelThreshold){
+        ArrayBag<E> answer;
+        Object sources[][];
+        int starts[];
+        boolean indexed;
+        long total;
+        int i;
+        
+        if(bags == null){
+            throw new NullPointerException("bags is null");
+        }
+        if(parallelThreshold < 1){
+            throw new IllegalArgumentException("parallelThreshold must be at least 1: " + parallelThreshold);
+        }
+        
+        // starts[i] is the position in the new array of the first element of bag i
+        sources = new Object[bags.size()][];
+        starts = new int[bags.size() + 1];
+        indexed = false;
+        total = 0;
+        i = 0;
+        for(ArrayBag<E> bag : bags){
+            if(bag == null){
+                throw new NullPointerException("bags contains null");
+            }
+            if(i == 0){
+                indexed = bag.indexed;  // the new bag takes the mode of the first bag, as union does
+            }
+            sources[i] = bag.data;
+            starts[i] = (int) total;
+            total += bag.manyItems;
+            starts[++i] = GrowthPolicy.clamp(0, (int) Math.min(total, Integer.MAX_VALUE));
+        }
+        
+        answer = new ArrayBag<E>((int) total);
+        RangeCopy copy = new RangeCopy(sources, starts, answer.data, 0, (int) total, parallelThreshold);
+        if(total <= parallelThreshold){
+            copy.compute();
+        }
+        else{
+            ForkJoinPool.commonPool().invoke(copy);
+        }
+        answer.manyItems = (int) total;
+        answer.indexed = indexed;       // the index is built when it is first needed
         return answer;
     }
     
+    /**
+     * Change the policy that decides how much this bag grows when it runs out of room.
+     * @param policy - the new growth policy
+     */
+    public void setGrowthPolicy(GrowthPolicy policy){
+        if(policy == null){
+            throw new NullPointerException("policy is null");
+        }
+        growthPolicy = policy;
+    }
+    
+    /**
+     * Accessor method to determine the growth policy of this bag.
+     * @return The policy that decides how much this bag grows when it runs out of room
+     */
+    public GrowthPolicy getGrowthPolicy(){
+        return growthPolicy;
+    }
+    
+    /**
+     * Turn automatic shrinking on or off. When it is on, remove halves the unused room once the bag is less
+     * than a quarter full, so a bag that shrinks and grows around one size does not resize back and forth.
+     * @param enabled - true to turn automatic shrinking on
+     */
+    public void setAutoShrink(boolean enabled){
+        autoShrink = enabled;
+    }
+    
+    /**
+     * Accessor method to determine whether this bag shrinks automatically.
+     * @return True if remove gives back memory when the bag becomes sparse
+     */
+    public boolean isAutoShrink(){
+        return autoShrink;
+    }
+    
+    /**
+     * Accessor method to estimate the memory used by this bag itself, not counting the elements it refers to.
+     * The estimate assumes a 64-bit virtual machine with compressed references, and counts a data array that
+     * is shared with clones or snapshots in full. The references to the side index of an indexed bag are
+     * counted, but not the index itself.
+     * @return The estimated number of bytes used by this bag and its data array
+     */
+    public long memoryFootprint(){
+        // header; data, growthPolicy, index and slotPosition; manyItems; four flags
+        long bagBytes = OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES + 4 + 4;
+        long arrayBytes = ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * data.length;
+        
+        return align(bagBytes) + align(arrayBytes);
+    }
+    
+    /**
+     * Turn indexed mode on or off. In indexed mode the bag keeps a hash index from each distinct element to
+     * the positions that hold it, so countOccurrences and remove take constant expected time instead of a
+     * linear scan, at the price of extra memory and a little extra work in each add. grab is unchanged.
+     * Note: in indexed mode, an element must not change its equals or hashCode while it is in the bag.
+     * @param enabled - true to turn indexed mode on
+     */
+    public void setIndexed(boolean enabled){
+        indexed = enabled;
+        index = null;
+        slotPosition = null;
+    }
+    
+    /**
+     * Accessor method to determine whether this bag is in indexed mode.
+     * @return True if countOccurrences and remove use the hash index
+     */
+    public boolean isIndexed(){
+        return indexed;
+    }
+    
+    /**
+     * Turn copy-on-write mode on or off. In copy-on-write mode, clone shares the data array instead of
+     * copying it, and spliterator and the streams take a snapshot of the elements.
+     * @param enabled - true to turn copy-on-write mode on
+     */
+    public void setCopyOnWrite(boolean enabled){
+        copyOnWrite = enabled;
+    }
+    
+    /**
+     * Accessor method to determine whether this bag is in copy-on-write mode.
+     * @return True if clone shares the data array of this bag
+     */
+    public boolean isCopyOnWrite(){
+        return copyOnWrite;
+    }
+    
+    /**
+     * Create an iterator over the elements that are in this bag now. Later changes to this bag copy the
+     * data array first, so the iterator keeps seeing the same elements and never blocks or fails.
+     * Note: the snapshot must be taken by the thread that changes this bag (or while holding the lock that
+     *       guards it); the iterator itself may then be passed to any other thread.
+     * @return An iterator over the current elements of this bag. Its remove method is not supported.
+     */
+    public Iterator<E> snapshotIterator(){
+        shared = true;
+        return new SnapshotIterator<E>(data, manyItems);
+    }
+    
+    /**
+     * Create a spliterator over the elements of this bag. It splits exactly in half, so parallel streams
+     * divide the work evenly. In copy-on-write mode it is a snapshot like snapshotIterator, and is not
+     * affected by later changes to this bag. Otherwise it reads the data array in place, so no copy is made
+     * on the next change. Note: unless the bag is in copy-on-write mode, the bag must not change while the
+     * spliterator is used
+     * @return A SIZED and SUBSIZED spliterator over the current elements of this bag
+     */
+    public Spliterator<E> spliterator(){
+        if(copyOnWrite){
+            shared = true;
+            return Spliterators.spliterator(data, 0, manyItems, Spliterator.IMMUTABLE);
+        }
+        return Spliterators.spliterator(data, 0, manyItems, 0);
+    }
+    
+    /**
+     * Create a sequential stream of the elements that are in this bag now.
+     * Note: unless the bag is in copy-on-write mode, the bag must not change while the stream is used
+     * @return A stream of the current elements of this bag
+     */
+    public Stream<E> stream(){
+        return StreamSupport.stream(spliterator(), false);
+    }
+    
+    /**
+     * Create a parallel stream of the elements that are in this bag now.
+     * Note: unless the bag is in copy-on-write mode, the bag must not change while the stream is used
+     * @return A parallel stream of the current elements of this bag
+     */
+    public Stream<E> parallelStream(){
+        return StreamSupport.stream(spliterator(), true);
+    }
+    
+    /**
+     * Increase the capacity as the growth policy decides.
+     * @param minimumCapacity - the number of elements the bag must be able to hold; a negative value means
+     *        that the sum of two sizes overflowed
+     */
+    private void grow(int minimumCapacity){
+        resize(growthPolicy.grow(data.length, minimumCapacity));
+    }
+    
+    /**
+     * Move the elements into a new array of a given length.
+     * @param capacity - the length of the new array, no less than manyItems
+     */
+    private void resize(int capacity){
+        Object[] newArray = new Object[capacity];
+        
+        System.arraycopy(data, 0, newArray, 0, manyItems);
+        data = newArray;
+        shared = false;
+    }
+    
+    /**
+     * Round a size in bytes up to the 8 byte alignment of objects.
+     */
+    private static long align(long bytes){
+        return (bytes + 7) & ~7L;
+    }
+    
+    /**
+     * Get the side index, building it from the data array if it is not up to date (invariant 4).
+     * @return The map from each distinct element to the positions that hold it
+     */
+    private HashMap<Object, Slots> sideIndex(){
+        if(index == null){
+            index = new HashMap<Object, Slots>();
+            slotPosition = null;
+            indexSlots(0);
+        }
+        return index;
+    }
+    
+    /**
+     * Record the positions from first to manyItems-1 in the side index, if there is one.
+     * @param first - the first position that is not yet in the index
+     */
+    private void indexSlots(int first){
+        Slots slots;
+        int i;
+        
+        if(index == null){
+            return;     // not indexed, or the index will be rebuilt when it is needed
+        }
+        if(slotPosition == null || slotPosition.length < manyItems){
+            slotPosition = (slotPosition == null) ? new int[data.length]
+                    : Arrays.copyOf(slotPosition, data.length);
+        }
+        for(i = first; i < manyItems; i++){
+            slots = index.get(data[i]);
+            if(slots == null){
+                slots = new Slots();
+                index.put(data[i], slots);
+            }
+            slotPosition[i] = slots.count;
+            slots.add(i);
+        }
+    }
+    
+    /**
+     * Update the side index, if there is one, for a removal that moves the element at position last into
+     * position removed. The removed position must be the last one in its element's Slots.
+     * @param removed - the position of the element being removed
+     * @param last - the position of the last element of the bag
+     */
+    private void unindexSlot(int removed, int last){
+        Slots slots;
+        
+        if(index == null){
+            return;
+        }
+        slots = index.get(data[removed]);
+        if(slots.slots[slots.count - 1] != removed){
+            // The remove found its target by a scan, so swap the target to the end of its Slots first
+            int other = slots.slots[slots.count - 1];
+            slots.slots[slotPosition[removed]] = other;
+            slotPosition[other] = slotPosition[removed];
+        }
+        slots.count--;
+        if(slots.count == 0){
+            index.remove(data[removed]);
+        }
+        if(removed != last){
+            slots = index.get(data[last]);
+            slots.slots[slotPosition[last]] = removed;
+            slotPosition[removed] = slotPosition[last];
+        }
+    }
+    
+    /**
+     * Make sure the data array belongs to this bag alone before it is changed (invariant 3).
+     */
+    private void unshare(){
+        if(shared){
+            data = data.clone();
+            shared = false;
+        }
+    }
+    
+    /**
+     * Fills a range of a destination array from the source arrays that are laid out one after another in it,
+     * splitting the range in half until it is no longer than the threshold
+     */
+    private static class RangeCopy extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+        
+        private final Object sources[][];
+        private final int starts[];     // starts[i] is where sources[i] begins in the destination
+        private final Object destination[];
+        private final int from;         // the first position to fill
+        private final int to;           // one past the last position to fill
+        private final int threshold;
+        
+        RangeCopy(Object sources[][], int starts[], Object destination[], int from, int to, int threshold){
+            this.sources = sources;
+            this.starts = starts;
+            this.destination = destination;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute(){
+            int middle;
+            int i;
+            int position;
+            int count;
+            
+            if(to - from > threshold && getPool() != null){
+                middle = (from + to) >>> 1;
+                invokeAll(new RangeCopy(sources, starts, destination, from, middle, threshold),
+                        new RangeCopy(sources, starts, destination, middle, to, threshold));
+                return;
+            }
+            
+            // Find the last source that begins at or before from, skipping empty sources
+            i = Arrays.binarySearch(starts, 0, sources.length, from);
+            if(i < 0){
+                i = -i - 2;
+            }
+            while(starts[i + 1] <= from && i + 1 < sources.length){
+                i++;
+            }
+            for(position = from; position < to; i++){
+                count = Math.min(to, starts[i + 1]) - position;
+                System.arraycopy(sources[i], position - starts[i], destination, position, count);
+                position += count;
+            }
+        }
+    }
+    
+    /**
+     * The positions of the data array that hold one distinct element, in no particular order
+     */
+    private static class Slots{
+        int slots[] = new int[2];
+        int count;
+        
+        void add(int position){
+            if(count == slots.length){
+                slots = Arrays.copyOf(slots, count * 2);
+            }
+            slots[count++] = position;
+        }
+    }
+    
+    /**
+     * An iterator over an array that no bag will change again
+     */
+    private static class SnapshotIterator<E> implements Iterator<E>{
+        private final Object elements[];
+        private final int manyItems;
+        private int index;
+        
+        SnapshotIterator(Object elements[], int manyItems){
+            this.elements = elements;
+            this.manyItems = manyItems;
+            index = 0;
+        }
+        
+        @Override
+        public boolean hasNext(){
+            return index < manyItems;
+        }
+        
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            if(!hasNext()){
+                throw new NoSuchElementException("The snapshot has no more elements.");
+            }
+            return (E) elements[index++];
+        }
+    }
+    
 }
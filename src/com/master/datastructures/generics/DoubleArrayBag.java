@@ -0,0 +1,518 @@
+/*
+  This file is generated from templates/PrimitiveArrayBag.java.template by "ant generate-primitive-bags".
+  Edit the template and regenerate instead of changing this file.
+
+  An DoubleArrayBag is a collection of double values stored directly in a double array, without boxing.
+    
+  Limitations:
+    1. The capacity of one of these bags can change after it's created, but the maximum capacity is limited
+       by the amount of free memory on the machine. The constructors, add, clone, and union will result in
+       an OutOfMemoryError when free memory is exhausted.
+    2. A bag's capacity cannot exceed GrowthPolicy.MAX_CAPACITY, a little below Integer.MAX_VALUE.
+       Any attempt to grow a bag beyond that capacity results in an OutOfMemoryError.
+    3. Because of the slow linear algorithms of this class, large bags will have poor performance.
+  */
+package com.master.datastructures.generics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A bag of double values with the operations of ArrayBag
+ * @author simon_000
+ */
+public class DoubleArrayBag implements Cloneable{
+    /*
+    Invariant of the DoubleArrayBag class:
+        1. The number of elements in the bag is in the instance variable manyItems
+        2. For an empty bag, we do not care what is stored in any of data;
+           for a non-empty bag, the elements in the bag are stored in data[0] through data[manyItems-1], and
+           we don't care what's in the rest of data
+        3. Two values are the same element when Double.doubleToLongBits(a) == Double.doubleToLongBits(b)
+    */
+    private double data[];
+    private int manyItems;
+    private GrowthPolicy growthPolicy;  // decides the new capacity when the bag runs out of room
+    private boolean autoShrink;     // true if remove gives back memory when the bag becomes sparse
+    
+    private static final int MIN_SHRINK_CAPACITY = 10;  // remove never shrinks the capacity below this
+    
+    // min and max keep LANES independent partial results, so each step does not wait for the one before it
+    private static final int LANES = 4;
+    
+    // Sizes used by memoryFootprint, for a 64-bit virtual machine with compressed references
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    
+    /**
+     * Initialize an empty bag with an initial capacity of 10.
+     * Note that the add method works efficiently (without needing more memory) until the capacity is reached.
+     */
+    public DoubleArrayBag(){
+        final int INITIAL_CAPACITY = 10;
+        manyItems = 0;
+        data = new double[INITIAL_CAPACITY];
+        growthPolicy = GrowthPolicy.DEFAULT;
+    }
+    
+    /**
+     * Initialize an empty bag with a specified initial capacity.
+     * Note that the add method works efficiently (without needing more memory) until this capacity is reached.
+     * Note: initialCapacity must be non-negative
+     * @param initialCapacity - The initial capacity of this bag
+     * @exception IllegalArgumentException
+     *      Indicates the initialCapacity is negative
+     */
+    public DoubleArrayBag(int initialCapacity){
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("initialCapacity is negative: " + initialCapacity);
+        }
+        manyItems = 0;
+        data = new double[initialCapacity];
+        growthPolicy = GrowthPolicy.DEFAULT;
+    }
+    
+    /**
+     * Add a new element to this bag. If this new element would take this bag beyond its current capacity, then the 
+     * capacity is increased (as the growth policy decides) before adding the new element.
+     * @param element - the new element that is being added
+     */
+    public void add(double element){
+        if(manyItems == data.length){
+            grow(manyItems + 1);
+        }
+        data[manyItems] = element;
+        manyItems++;
+    }
+    
+    /**
+     * Add the contents of another bag to this bag
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    public void addAll(DoubleArrayBag addend){
+        // If addend is null, then a NullPointerException is thrown
+        if(manyItems + addend.manyItems > data.length || manyItems + addend.manyItems < 0){
+            grow(manyItems + addend.manyItems);
+        }
+        
+        System.arraycopy(addend.data, 0, data, manyItems, addend.manyItems);
+        manyItems += addend.manyItems;
+    }
+    
+    /**
+     * Add a variable number of new elements to this bag. If these new elements would take this bag beyond its current
+     * capacity, then the capacity is increased (as the growth policy decides) before adding the new elements.
+     * @param elements - a variable number of new elements that are being added
+     */
+    public void addMany(double... elements){
+        if(manyItems + elements.length > data.length || manyItems + elements.length < 0){
+            grow(manyItems + elements.length);
+        }
+        System.arraycopy(elements, 0, data, manyItems, elements.length);
+        manyItems += elements.length;
+    }
+    
+    /**
+     * Generate a copy of this bag.
+     * @return The return value is a copy of this bag. Subsequent changes to the copy will not affect the original.
+     */
+    @Override
+    public DoubleArrayBag clone(){
+        DoubleArrayBag answer;
+        
+        try{
+            answer = (DoubleArrayBag) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable");
+        }
+        
+        answer.data = data.clone();
+        return answer;
+    }
+    
+    /**
+     * Accessor method to count the number of occurrences of a particular element in this bag
+     * @param target - the element to be counted
+     * @return The number of times that target occurs in this bag
+     */
+    public int countOccurrences(double target){
+        int answer;
+        int index;
+        
+        answer = 0;
+        for(index = 0; index < manyItems; index++){
+            if(Double.doubleToLongBits(data[index]) == Double.doubleToLongBits(target)){
+                answer++;
+            }
+        }
+        
+        return answer;
+    }
+    
+    /**
+     * Accessor method to determine whether a particular element is in this bag
+     * @param target - the element to look for
+     * @return True if target occurs in this bag at least once
+     */
+    public boolean contains(double target){
+        int index;
+        
+        for(index = 0; index < manyItems; index++){
+            if(Double.doubleToLongBits(data[index]) == Double.doubleToLongBits(target)){
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Accessor method to count the elements of this bag that lie in a closed range
+     * @param low - the smallest value to count
+     * @param high - the largest value to count
+     * @return The number of elements x of this bag with low <= x <= high (0 if low > high)
+     */
+    public int countInRange(double low, double high){
+        int answer;
+        int index;
+        
+        answer = 0;
+        for(index = 0; index < manyItems; index++){
+            if(data[index] >= low && data[index] <= high){
+                answer++;
+            }
+        }
+        
+        return answer;
+    }
+    
+    /**
+     * Accessor method to find the smallest element of this bag. Note: This bag cannot be empty
+     * @return The smallest element of this bag
+     */
+    public double min(){
+        final double data[] = this.data;
+        final int n = manyItems;
+        double m0, m1, m2, m3;
+        int index;
+        
+        if(n == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        m0 = data[0]; m1 = m0; m2 = m0; m3 = m0;
+        for(index = 0; index + LANES <= n; index += LANES){
+            m0 = Math.min(m0, data[index]);
+            m1 = Math.min(m1, data[index + 1]);
+            m2 = Math.min(m2, data[index + 2]);
+            m3 = Math.min(m3, data[index + 3]);
+        }
+        for(; index < n; index++){
+            m0 = Math.min(m0, data[index]);
+        }
+        
+        return Math.min(Math.min(m0, m1), Math.min(m2, m3));
+    }
+    
+    /**
+     * Accessor method to find the largest element of this bag. Note: This bag cannot be empty
+     * @return The largest element of this bag
+     */
+    public double max(){
+        final double data[] = this.data;
+        final int n = manyItems;
+        double m0, m1, m2, m3;
+        int index;
+        
+        if(n == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        m0 = data[0]; m1 = m0; m2 = m0; m3 = m0;
+        for(index = 0; index + LANES <= n; index += LANES){
+            m0 = Math.max(m0, data[index]);
+            m1 = Math.max(m1, data[index + 1]);
+            m2 = Math.max(m2, data[index + 2]);
+            m3 = Math.max(m3, data[index + 3]);
+        }
+        for(; index < n; index++){
+            m0 = Math.max(m0, data[index]);
+        }
+        
+        return Math.max(Math.max(m0, m1), Math.max(m2, m3));
+    }
+    
+    /**
+     * Accessor method to add up the elements of this bag
+     * @return The sum of the elements of this bag, as a double (0 for an empty bag)
+     */
+    public double sum(){
+        double answer;
+        int index;
+        
+        answer = 0;
+        for(index = 0; index < manyItems; index++){
+            answer += data[index];
+        }
+        
+        return answer;
+    }
+    
+    /**
+     * Change the current capacity of this bag.
+     * @param minimumCapacity - the new capacity for this bag
+     */
+    public void ensureCapacity(int minimumCapacity){
+        if(data.length < minimumCapacity){
+            resize(minimumCapacity);
+        }
+    }
+    
+    /**
+     * Accessor method to determine the current capacity of this bag.
+     * The add method works efficiently (without needing more memory) until this capacity is reached.
+     * @return The current capacity of this bag
+     */
+    public int getCapacity(){
+        return data.length;
+    }
+    
+    /**
+     * Accessor method to retrieve a random element from this bag.
+     * @return A randomly selected element from this bag
+     */
+    public double grab(){
+        return grab(ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Accessor method to retrieve a random element from this bag, using a given random number generator.
+     * @param generator - the source of random numbers
+     * @return A randomly selected element from this bag
+     */
+    public double grab(Random generator){
+        if(manyItems == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        return data[generator.nextInt(manyItems)];
+    }
+    
+    /**
+     * Accessor method to retrieve several random elements from this bag in one call.
+     * @param k - the number of elements to retrieve
+     * @param withReplacement - true if the same copy of an element may be chosen more than once; false if
+     *        each copy is chosen at most once, in which case k must not exceed the size of this bag
+     * @param generator - the source of random numbers
+     * @return A new bag holding the k randomly selected elements
+     * @exception IllegalArgumentException
+     *      Indicates k is negative, or larger than the size of this bag when sampling without replacement
+     */
+    public DoubleArrayBag grabMany(int k, boolean withReplacement, Random generator){
+        DoubleArrayBag answer;
+        int chosen[];
+        int i;
+        
+        if(k < 0){
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+        if(k > 0 && manyItems == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        answer = new DoubleArrayBag(k);
+        if(withReplacement){
+            for(i = 0; i < k; i++){
+                answer.data[i] = data[generator.nextInt(manyItems)];
+            }
+        }
+        else{
+            chosen = Sampling.sampleIndexes(manyItems, k, generator);
+            for(i = 0; i < k; i++){
+                answer.data[i] = data[chosen[i]];
+            }
+        }
+        answer.manyItems = k;
+        
+        return answer;
+    }
+    
+    /**
+     * Remove one copy of a specified element from this bag.
+     * @param target - the element to remove from this bag
+     * @return True if target was found in this bag and one copy of target was removed, otherwise this
+     *         bag remains unchanged and returns false
+     */
+    public boolean remove(double target){
+        int index;  // The location of target in the data array
+        
+        // If target is not in the array, then index will be set equal to manyItems
+        index = 0;
+        while((index < manyItems) && (Double.doubleToLongBits(data[index]) != Double.doubleToLongBits(target))){
+            index++;
+        }
+        
+        if(index == manyItems){
+            return false;   // The target was not found, so nothing is removed
+        }
+        else{
+            // The target was found at data[index], so move the last element into its place
+            manyItems--;
+            data[index] = data[manyItems];
+            if(autoShrink && manyItems < data.length / 4 && data.length > MIN_SHRINK_CAPACITY){
+                // Shrink to twice the size, so that the bag must double before it grows again
+                resize(Math.max(manyItems * 2, MIN_SHRINK_CAPACITY));
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Accessor method to determine the number of elements in this bag
+     * @return The number of elements in this bag
+     */
+    public int size(){
+        return manyItems;
+    }
+    
+    /**
+     * Reduce the current capacity of this bag to its size (the number of elements it contains).
+     */
+    public void trimToSize(){
+        if(data.length != manyItems){
+            resize(manyItems);
+        }
+    }
+    
+    /**
+     * Create a new bag that contains all the elements from two other bags. The new bag's capacity is its size.
+     * Note: An attempt to create a bag with more than GrowthPolicy.MAX_CAPACITY elements results in an
+     *       OutOfMemoryError.
+     * @param b1 - The first bag
+     * @param b2 - The second bag
+     * @return A new bag that is the union of b1 and b2
+     * @exception NullPointerException
+     *      Indicates that one of the arguments is null
+     */
+    public static DoubleArrayBag union(DoubleArrayBag b1, DoubleArrayBag b2){
+        if(b1 == null || b2 == null){
+            throw new NullPointerException("b1 or b2 is null");
+        }
+        
+        DoubleArrayBag answer = new DoubleArrayBag(GrowthPolicy.clamp(0, b1.manyItems + b2.manyItems));
+        
+        System.arraycopy(b1.data, 0, answer.data, 0, b1.manyItems);
+        System.arraycopy(b2.data, 0, answer.data, b1.manyItems, b2.manyItems);
+        answer.manyItems = b1.manyItems + b2.manyItems;
+        return answer;
+    }
+    
+    /**
+     * Change the policy that decides how much this bag grows when it runs out of room.
+     * @param policy - the new growth policy
+     */
+    public void setGrowthPolicy(GrowthPolicy policy){
+        if(policy == null){
+            throw new NullPointerException("policy is null");
+        }
+        growthPolicy = policy;
+    }
+    
+    /**
+     * Accessor method to determine the growth policy of this bag.
+     * @return The policy that decides how much this bag grows when it runs out of room
+     */
+    public GrowthPolicy getGrowthPolicy(){
+        return growthPolicy;
+    }
+    
+    /**
+     * Turn automatic shrinking on or off. When it is on, remove halves the unused room once the bag is less
+     * than a quarter full.
+     * @param enabled - true to turn automatic shrinking on
+     */
+    public void setAutoShrink(boolean enabled){
+        autoShrink = enabled;
+    }
+    
+    /**
+     * Accessor method to determine whether this bag shrinks automatically.
+     * @return True if remove gives back memory when the bag becomes sparse
+     */
+    public boolean isAutoShrink(){
+        return autoShrink;
+    }
+    
+    /**
+     * Accessor method to estimate the memory used by this bag, assuming a 64-bit virtual machine with
+     * compressed references.
+     * @return The estimated number of bytes used by this bag and its data array
+     */
+    public long memoryFootprint(){
+        long bagBytes = OBJECT_HEADER_BYTES + 2 * REFERENCE_BYTES + 4 + 1;  // header, data and policy, manyItems, flag
+        long arrayBytes = ARRAY_HEADER_BYTES + (long) Double.BYTES * data.length;
+        
+        return align(bagBytes) + align(arrayBytes);
+    }
+    
+    /**
+     * Create a spliterator over the elements of this bag. It splits exactly in half, so parallel streams
+     * divide the work evenly. Note: the bag must not change while the spliterator is in use
+     * @return A SIZED and SUBSIZED spliterator over the elements of this bag
+     */
+    public Spliterator.OfDouble spliterator(){
+        return Spliterators.spliterator(data, 0, manyItems, 0);
+    }
+    
+    /**
+     * Create a sequential stream of the elements of this bag. Note: the bag must not change while the
+     * stream is used
+     * @return A stream of the elements of this bag
+     */
+    public DoubleStream stream(){
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+    
+    /**
+     * Create a parallel stream of the elements of this bag. Note: the bag must not change while the
+     * stream is used
+     * @return A parallel stream of the elements of this bag
+     */
+    public DoubleStream parallelStream(){
+        return StreamSupport.doubleStream(spliterator(), true);
+    }
+    
+    /**
+     * Increase the capacity as the growth policy decides.
+     * @param minimumCapacity - the number of elements the bag must be able to hold; a negative value means
+     *        that the sum of two sizes overflowed
+     */
+    private void grow(int minimumCapacity){
+        resize(growthPolicy.grow(data.length, minimumCapacity));
+    }
+    
+    /**
+     * Move the elements into a new array of a given length.
+     * @param capacity - the length of the new array, no less than manyItems
+     */
+    private void resize(int capacity){
+        double[] newArray = new double[capacity];
+        
+        System.arraycopy(data, 0, newArray, 0, manyItems);
+        data = newArray;
+    }
+    
+    /**
+     * Round a size in bytes up to the 8 byte alignment of objects.
+     */
+    private static long align(long bytes){
+        return (bytes + 7) & ~7L;
+    }
+    
+}
@@ -0,0 +1,114 @@
+package com.master.datastructures.generics;
+
+/**
+ * A GrowthPolicy decides how large the array of a bag becomes when the bag runs out of room.
+ * Every policy made by this interface is overflow-safe: the capacity it returns is never negative and never
+ * beyond MAX_CAPACITY, and a request that cannot be met fails with an OutOfMemoryError instead of wrapping
+ * around.
+ * @author simon_000
+ */
+public interface GrowthPolicy {
+
+    /**
+     * The largest array length that can be requested safely. Some virtual machines reserve a few header
+     * words in an array, so lengths very close to Integer.MAX_VALUE may fail.
+     */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The policy used by the bags unless another is set: double the capacity and add 1.
+     */
+    GrowthPolicy DEFAULT = geometric(2.0);
+
+    /**
+     * Compute the new capacity for an array that must hold more elements.
+     * @param currentCapacity - the current length of the array
+     * @param minimumCapacity - the number of elements the array must be able to hold
+     * @return A capacity of at least minimumCapacity and at most MAX_CAPACITY
+     * @exception OutOfMemoryError
+     *      Indicates minimumCapacity is beyond MAX_CAPACITY (or negative because a sum overflowed)
+     */
+    int grow(int currentCapacity, int minimumCapacity);
+
+    /**
+     * A policy that multiplies the capacity by a factor and adds 1, so that even an empty array grows.
+     * @param factor - the growth factor, greater than 1
+     * @return The geometric policy
+     * @exception IllegalArgumentException
+     *      Indicates factor is not greater than 1
+     */
+    static GrowthPolicy geometric(final double factor){
+        if(!(factor > 1.0)){
+            throw new IllegalArgumentException("factor must be greater than 1: " + factor);
+        }
+        return new GrowthPolicy(){
+            @Override
+            public int grow(int currentCapacity, int minimumCapacity){
+                return clamp(currentCapacity * factor + 1, minimumCapacity);
+            }
+        };
+    }
+
+    /**
+     * A policy that adds the same number of slots each time. This wastes less memory than a geometric
+     * policy, but filling a bag one element at a time then costs quadratic time.
+     * @param increment - the number of slots to add, at least 1
+     * @return The fixed increment policy
+     * @exception IllegalArgumentException
+     *      Indicates increment is less than 1
+     */
+    static GrowthPolicy fixedIncrement(final int increment){
+        if(increment < 1){
+            throw new IllegalArgumentException("increment must be at least 1: " + increment);
+        }
+        return new GrowthPolicy(){
+            @Override
+            public int grow(int currentCapacity, int minimumCapacity){
+                return clamp((double) currentCapacity + increment, minimumCapacity);
+            }
+        };
+    }
+
+    /**
+     * A policy that follows another policy but never goes beyond a maximum capacity.
+     * @param base - the policy to follow
+     * @param maxCapacity - the largest capacity this policy returns
+     * @return The capped policy. Asking it for more than maxCapacity elements throws an OutOfMemoryError.
+     * @exception IllegalArgumentException
+     *      Indicates maxCapacity is negative or beyond MAX_CAPACITY
+     */
+    static GrowthPolicy capped(final GrowthPolicy base, final int maxCapacity){
+        if(base == null){
+            throw new NullPointerException("base is null");
+        }
+        if(maxCapacity < 0 || maxCapacity > MAX_CAPACITY){
+            throw new IllegalArgumentException("maxCapacity must be between 0 and " + MAX_CAPACITY + ": " + maxCapacity);
+        }
+        return new GrowthPolicy(){
+            @Override
+            public int grow(int currentCapacity, int minimumCapacity){
+                if(minimumCapacity < 0 || minimumCapacity > maxCapacity){
+                    throw new OutOfMemoryError("Required capacity " + Integer.toUnsignedString(minimumCapacity)
+                            + " is beyond the cap of " + maxCapacity);
+                }
+                return Math.min(base.grow(currentCapacity, minimumCapacity), maxCapacity);
+            }
+        };
+    }
+
+    /**
+     * Turn a wanted capacity into one that is safe to allocate.
+     * @param wanted - the capacity a policy would like, computed without overflow
+     * @param minimumCapacity - the capacity that is required
+     * @return The larger of wanted and minimumCapacity, limited to MAX_CAPACITY
+     * @exception OutOfMemoryError
+     *      Indicates minimumCapacity is beyond MAX_CAPACITY (or negative because a sum overflowed)
+     */
+    static int clamp(double wanted, int minimumCapacity){
+        if(minimumCapacity < 0 || minimumCapacity > MAX_CAPACITY){
+            throw new OutOfMemoryError("Required capacity " + Integer.toUnsignedString(minimumCapacity)
+                    + " is beyond " + MAX_CAPACITY);
+        }
+        return (int) Math.max(Math.min(wanted, MAX_CAPACITY), minimumCapacity);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+  A LinkedBag<E> is a collection of references to E objects, stored in a linked list of Nodes
+
+  Limitations:
+    1. Beyond Integer.MAX_VALUE elements, countOccurrences, size and grab are wrong.
+    2. Because of the slow linear algorithms of this class, large bags will have poor performance.
+  */
+package com.master.datastructures.generics;
+
+import com.master.datastructures.linkedlists.Node;
+import com.master.datastructures.linkedlists.NodePool;
+import com.master.datastructures.linkedlists.NodeSpliterator;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A generic bag stored in a linked list, whose Listers can remove elements
+ * in constant time and fail fast when the bag is changed behind their back
+ * @author simon_000
+ * @param <E> Generic bag return
+ */
+public class LinkedBag<E> implements Cloneable, Iterable<E>{
+    /*
+    Invariant of the LinkedBag<E> generic class:
+        1. The elements in the bag are stored in a linked list whose head reference is in the instance
+           variable head
+        2. The number of elements in the bag is in the instance variable manyNodes
+        3. modCount is increased by every change to the list, so that a Lister can tell when the list
+           was changed by someone else
+    */
+    Node<E> head;       // package access, so that a Lister can unlink the head
+    int manyNodes;
+    int modCount;
+    NodePool<E> nodePool;   // source of new nodes and home of removed ones, or null
+    
+    /**
+     * Initialize an empty bag
+     */
+    public LinkedBag(){
+        head = null;
+        manyNodes = 0;
+        modCount = 0;
+    }
+    
+    /**
+     * Make this bag take its new nodes from a pool and give removed nodes back to it. Clones of this bag
+     * share the pool.
+     * @param pool - the pool, or null to allocate nodes normally
+     */
+    public void setNodePool(NodePool<E> pool){
+        nodePool = pool;
+    }
+    
+    public NodePool<E> getNodePool(){
+        return nodePool;
+    }
+    
+    /**
+     * Add a new element to this bag
+     * @param element - the new element that is being added
+     */
+    public void add(E element){
+        head = (nodePool == null) ? new Node<E>(element, head) : nodePool.allocate(element, head);
+        manyNodes++;
+        modCount++;
+    }
+    
+    /**
+     * Add the contents of another bag to this bag
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    @SuppressWarnings("unchecked")
+    public void addAll(LinkedBag<E> addend){
+        Node<E> copyInfo[];
+        
+        // If addend is null, then a NullPointerException is thrown
+        if(addend.manyNodes > 0){
+            copyInfo = Node.listCopyWithTail(addend.head);
+            copyInfo[1].setLink(head);
+            head = copyInfo[0];
+            manyNodes += addend.manyNodes;
+            modCount++;
+        }
+    }
+    
+    /**
+     * Add a variable number of new elements to this bag
+     * @param elements - a variable number of new elements that are being added
+     */
+    @SuppressWarnings("unchecked")
+    public void addMany(E... elements){
+        for(E element : elements){
+            add(element);
+        }
+    }
+    
+    /**
+     * Generate a copy of this bag
+     * @return The return value is a copy of this bag. Subsequent changes to the copy will not affect the original.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public LinkedBag<E> clone(){
+        LinkedBag<E> answer;
+        
+        try{
+            answer = (LinkedBag<E>) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable");
+        }
+        
+        answer.head = Node.listCopy(head);
+        answer.modCount = 0;
+        return answer;
+    }
+    
+    /**
+     * Accessor method to count the number of occurrences of a particular element in this bag
+     * @param target - the reference to an E object to be counted
+     * @return The number of times that target occurs in this bag
+     *         If target is non-null, then the occurrences are found using the target.equals method
+     */
+    public int countOccurrences(E target){
+        Node<E> cursor;
+        int answer;
+        
+        answer = 0;
+        cursor = Node.listSearch(head, target);
+        while(cursor != null){
+            answer++;
+            cursor = Node.listSearch(nextNode(cursor), target);
+        }
+        
+        return answer;
+    }
+    
+    /**
+     * Accessor method to retrieve a random element from this bag
+     * @return A randomly selected element from this bag
+     */
+    public E grab(){
+        Node<E> cursor;
+        int i;  // A random value between 0 and the size of the bag - 1
+        
+        if(manyNodes == 0){
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        
+        i = ThreadLocalRandom.current().nextInt(manyNodes);
+        for(cursor = head; i > 0; i--){
+            cursor = nextNode(cursor);
+        }
+        return cursor.getData();
+    }
+    
+    /**
+     * Create a fail-fast iterator over the elements of this bag. Its remove method unlinks the element it
+     * returned last in constant time.
+     * @return A Lister over the elements of this bag
+     */
+    @Override
+    public Lister<E> iterator(){
+        return new Lister<E>(this);
+    }
+    
+    /**
+     * Remove one copy of a specified element from this bag
+     * @param target - the element to remove from this bag
+     * @return True if target was found in this bag and one copy of target was removed, otherwise this
+     *         bag remains unchanged and returns false
+     */
+    public boolean remove(E target){
+        Node<E> targetNode;
+        Node<E> oldHead;
+        
+        targetNode = Node.listSearch(head, target);
+        if(targetNode == null){
+            return false;   // The target was not found, so nothing is removed
+        }
+        else{
+            // Copy the head data to targetNode and then remove the extra copy of the head data
+            targetNode.setData(head.getData());
+            oldHead = head;
+            head = nextNode(head);
+            manyNodes--;
+            modCount++;
+            if(nodePool != null){
+                nodePool.release(oldHead);
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Remove every element of this bag that satisfies a condition, in one pass over the list
+     * @param filter - the condition; an element is removed when filter.test(element) is true
+     * @return True if at least one element has been removed, else false
+     */
+    public boolean removeIf(Predicate<? super E> filter){
+        Iterator<E> lister;
+        boolean removed;
+        
+        if(filter == null){
+            throw new NullPointerException("filter is null");
+        }
+        
+        removed = false;
+        lister = iterator();
+        while(lister.hasNext()){
+            if(filter.test(lister.next())){
+                lister.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Accessor method to determine the number of elements in this bag
+     * @return The number of elements in this bag
+     */
+    public int size(){
+        return manyNodes;
+    }
+    
+    /**
+     * Create a stream of the elements of this bag. Note: the bag must not change while the stream is used
+     * @return A stream of the elements of this bag
+     */
+    public Stream<E> stream(){
+        return StreamSupport.stream(new NodeSpliterator<E>(head, manyNodes, 0), false);
+    }
+    
+    /**
+     * Create a new bag that contains all the elements from two other bags
+     * @param <E> Indicates a generic bag return
+     * @param b1 - The first bag
+     * @param b2 - The second bag
+     * @return A new bag that is the union of b1 and b2
+     * @exception NullPointerException
+     *      Indicates that one of the arguments is null
+     */
+    public static <E> LinkedBag<E> union(LinkedBag<E> b1, LinkedBag<E> b2){
+        LinkedBag<E> answer;
+        
+        if(b1 == null || b2 == null){
+            throw new NullPointerException("b1 or b2 is null");
+        }
+        
+        answer = b1.clone();
+        answer.addAll(b2);
+        return answer;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> nextNode(Node<E> node){
+        return node.getLink();
+    }
+}
@@ -1,39 +1,109 @@
-
 package com.master.datastructures.generics;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import com.master.datastructures.linkedlists.Node;
 
 /**
+ * An iterator over a chain of Nodes. The Lister remembers the node before the
+ * one it returned last, so remove unlinks that node in constant time. A Lister
+ * made by a LinkedBag is fail-fast: if the bag is changed other than through
+ * the Lister, the next call to next or remove throws a
+ * ConcurrentModificationException.
  *
  * @author simon_000
  */
 public class Lister<E> implements Iterator<E> {
-    private Node<E> current;
+    private Node<E> current;        // the node that next will return (or null)
+    private Node<E> lastReturned;   // the node that next returned last, or null if it was removed
+    private Node<E> beforeLast;     // the node before the last one returned (or null if that was the head)
+    private final LinkedBag<E> owner;   // the bag whose list this is (or null)
+    private int expectedModCount;   // the owner's modCount as this Lister last changed or saw it
     
+    /**
+     * Create a Lister over a bare chain of nodes. remove can unlink every node
+     * except the head, since the Lister cannot change the caller's head
+     * reference.
+     * @param head - the head reference of the chain (which may be null)
+     */
     public Lister(Node<E> head){
         current = head;
+        owner = null;
+    }
+    
+    /**
+     * Create a fail-fast Lister over the list of a bag
+     * @param owner - the bag to iterate over
+     */
+    Lister(LinkedBag<E> owner){
+        current = owner.head;
+        this.owner = owner;
+        expectedModCount = owner.modCount;
     }
     
+    @Override
     public boolean hasNext(){
         return (current != null);
     }
     
+    @Override
     public E next(){
         E answer;
         
+        checkForComodification();
         if(!hasNext()) {
             throw new NoSuchElementException("The Lister is empty.");
         }
         
+        if(lastReturned != null){
+            beforeLast = lastReturned;  // otherwise the last node was removed, and beforeLast is still right
+        }
+        lastReturned = current;
         answer = current.getData();
         current = current.getLink();
         
         return answer;
     }
     
+    /**
+     * Remove the element that next returned last, in constant time
+     * @exception IllegalStateException
+     *      Indicates next has not been called, or remove has already been called since
+     * @exception UnsupportedOperationException
+     *      Indicates the element is the head of a chain that has no owning bag
+     */
+    @Override
     public void remove(){
-        throw new UnsupportedOperationException("Lister has no remove method.");
+        checkForComodification();
+        if(lastReturned == null){
+            throw new IllegalStateException("next has not returned an element to remove.");
+        }
+        
+        if(beforeLast != null){
+            beforeLast.removeNodeAfter(owner == null ? null : owner.nodePool);
+        }
+        else if(owner != null){
+            owner.head = current;
+            if(owner.nodePool != null){
+                owner.nodePool.release(lastReturned);
+            }
+        }
+        else{
+            throw new UnsupportedOperationException("The head of a chain without a LinkedBag cannot be removed.");
+        }
+        lastReturned = null;
+        
+        if(owner != null){
+            owner.manyNodes--;
+            owner.modCount++;
+            expectedModCount = owner.modCount;
+        }
+    }
+    
+    private void checkForComodification(){
+        if(owner != null && owner.modCount != expectedModCount){
+            throw new ConcurrentModificationException("The LinkedBag was changed while a Lister was in use.");
+        }
     }
 }
@@ -0,0 +1,122 @@
+package com.master.datastructures.generics;
+
+import com.master.datastructures.linkedlists.IntHashBag;
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Random sampling algorithms shared by the bag classes.
+ * @author simon_000
+ */
+public class Sampling {
+
+    private Sampling(){
+        // only static methods
+    }
+
+    /**
+     * Choose k different indexes from 0 to n-1 with Floyd's algorithm, which uses exactly k random numbers
+     * and no space beyond the set of chosen indexes.
+     * @param n - the number of indexes to choose from
+     * @param k - the number of indexes to choose
+     * @param generator - the source of random numbers
+     * @return An array of k distinct indexes. Every set of k indexes is equally likely, but the order of the
+     *         indexes in the array is not random.
+     * @exception IllegalArgumentException
+     *      Indicates that k is negative or larger than n
+     */
+    public static int[] sampleIndexes(int n, int k, Random generator){
+        IntHashBag chosen;
+        int answer[];
+        int i;
+        int j;
+        int t;
+
+        if(k < 0 || k > n){
+            throw new IllegalArgumentException("cannot choose " + k + " different indexes from " + n);
+        }
+
+        chosen = new IntHashBag(k);
+        answer = new int[k];
+        i = 0;
+        for(j = n - k; j < n; j++){
+            t = generator.nextInt(j + 1);
+            if(chosen.countOccurrences(t) > 0){
+                t = j;  // t was chosen already, and j cannot have been
+            }
+            chosen.add(t);
+            answer[i++] = t;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Choose k elements from an iterator without replacement, reading it once and without knowing its length
+     * in advance (reservoir sampling). After the reservoir is full, the number of elements to skip before the
+     * next replacement is drawn directly, so only O(k(1 + log(n/k))) random numbers are needed for n elements.
+     * @param <E> the type of the elements
+     * @param source - the elements to sample from, for example a Lister over a linked list
+     * @param k - the number of elements to choose
+     * @param generator - the source of random numbers
+     * @return A bag of min(k, n) elements, where every subset of that size is equally likely
+     * @exception IllegalArgumentException
+     *      Indicates that k is negative
+     */
+    public static <E> ArrayBag<E> reservoir(Iterator<? extends E> source, int k, Random generator){
+        Object reservoir[];
+        ArrayBag<E> answer;
+        int filled;
+        double w;
+        long skip;
+
+        if(k < 0){
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+
+        // Fill the reservoir with the first k elements
+        reservoir = new Object[k];
+        filled = 0;
+        while(filled < k && source.hasNext()){
+            reservoir[filled++] = source.next();
+        }
+
+        if(filled == k && k > 0){
+            // Algorithm L: w is the largest of k uniform keys, and the gap to the next smaller key is geometric
+            w = Math.exp(Math.log(nextOpenDouble(generator)) / k);
+            while(true){
+                skip = (long) Math.floor(Math.log(nextOpenDouble(generator)) / Math.log(1 - w));
+                while(skip > 0 && source.hasNext()){
+                    source.next();
+                    skip--;
+                }
+                if(!source.hasNext()){
+                    break;
+                }
+                reservoir[generator.nextInt(k)] = source.next();
+                w *= Math.exp(Math.log(nextOpenDouble(generator)) / k);
+            }
+        }
+
+        answer = new ArrayBag<E>(filled);
+        for(int i = 0; i < filled; i++){
+            @SuppressWarnings("unchecked")
+            E element = (E) reservoir[i];
+            answer.add(element);
+        }
+        return answer;
+    }
+
+    /**
+     * A uniform random number in the open interval (0, 1), so that its logarithm is finite
+     */
+    private static double nextOpenDouble(Random generator){
+        double answer;
+
+        do{
+            answer = generator.nextDouble();
+        }while(answer == 0.0);
+
+        return answer;
+    }
+}
@@ -0,0 +1,311 @@
+/**
+ * Invariant of the ConcurrentIntLinkedBag ADT 1. The elements in the bag are
+ * stored in a linked list whose head reference is held in the atomic reference
+ * head 2. An element is in the bag exactly when its node is reachable from head
+ * and not marked as removed 3. The size adder holds the number of elements in
+ * the bag, and the garbage adder holds the number of reachable nodes that are
+ * marked as removed 4. Only the thread holding the compaction lock changes the
+ * link of a node that is already in the list
+ */
+package com.master.datastructures.linkedlists;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread-safe collection of integer numbers with the operations of
+ * IntLinkedBag. New elements are pushed onto the head of the list with a
+ * compare-and-set (a Treiber stack), so adding never blocks. Removal marks a
+ * node as removed with a compare-and-set, and marked nodes are unlinked in
+ * batches by whichever thread first gets the compaction lock. Traversals
+ * (countOccurrences, grab, remove) are weakly consistent: they see every
+ * element that was in the bag when they started and was not removed before
+ * they reached it, and may or may not see later changes. Limits: 1) Beyond
+ * Int.MAX_VALUE elements, countOccurrences and size are wrong 2) The slow
+ * linear algorithms of this class cause large bags to have poor performance
+ *
+ * @author simon_000
+ */
+public class ConcurrentIntLinkedBag {
+
+    private static final int COMPACT_SAMPLE = 64;  // about one remove in this many checks whether to compact
+
+    private final AtomicReference<ConcurrentNode> head;    // Head reference for the list
+    private final LongAdder size;       // Number of elements in the bag
+    private final LongAdder garbage;    // Number of removed nodes still linked
+    private final ReentrantLock compactionLock;
+
+    /**
+     * Initialize an empty bag
+     */
+    public ConcurrentIntLinkedBag() {
+        head = new AtomicReference<>(null);
+        size = new LongAdder();
+        garbage = new LongAdder();
+        compactionLock = new ReentrantLock();
+    }
+
+    /**
+     * Add a new element to this bag
+     *
+     * @param element - the new element that is being added
+     */
+    public void add(int element) {
+        ConcurrentNode node = new ConcurrentNode(element);
+        push(node, node);
+        size.increment();
+    }
+
+    /**
+     * Add the contents of another bag to this bag. The elements are copied
+     * into a private chain first, which is then linked onto this bag with a
+     * single compare-and-set.
+     *
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    public void addAll(ConcurrentIntLinkedBag addend) {
+        ConcurrentNode first;
+        ConcurrentNode last;
+        ConcurrentNode cursor;
+        int count;
+
+        // Check for illegal null reference at addend
+        if (addend == null) {
+            throw new NullPointerException("addend is null");
+        }
+
+        first = null;
+        last = null;
+        count = 0;
+        for (cursor = addend.head.get(); cursor != null; cursor = cursor.link) {
+            if (cursor.removed == 0) {
+                if (first == null) {
+                    first = new ConcurrentNode(cursor.data);
+                    last = first;
+                } else {
+                    last.link = new ConcurrentNode(cursor.data);
+                    last = last.link;
+                }
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            push(first, last);
+            size.add(count);
+        }
+    }
+
+    /**
+     * Add a variable number of new elements to this bag. The elements are
+     * linked onto this bag with a single compare-and-set.
+     *
+     * @param elements - a variable number of new elements that are all being
+     * added
+     */
+    public void addMany(int... elements) {
+        ConcurrentNode first;
+        ConcurrentNode last;
+        int i;
+
+        if (elements.length == 0) {
+            return;
+        }
+
+        first = new ConcurrentNode(elements[0]);
+        last = first;
+        for (i = 1; i < elements.length; i++) {
+            last.link = new ConcurrentNode(elements[i]);
+            last = last.link;
+        }
+
+        push(first, last);
+        size.add(elements.length);
+    }
+
+    /**
+     * Accessor method to count the number of occurrences of a particular
+     * element in this bag.
+     *
+     * @param target - the element that needs to be counted
+     * @return The number of times that target occurs in this bag, as seen by
+     * a weakly consistent traversal
+     */
+    public int countOccurrences(int target) {
+        ConcurrentNode cursor;
+        int answer;
+
+        answer = 0;
+        for (cursor = head.get(); cursor != null; cursor = cursor.link) {
+            if (cursor.data == target && cursor.removed == 0) {
+                answer++;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Accessor method to retrieve a random element from this bag Note: This bag
+     * cannot be empty
+     *
+     * @return A randomly selected element from this bag. If elements are
+     * removed during the call, an element near the end of the list is more
+     * likely to be chosen.
+     */
+    public int grab() {
+        ConcurrentNode cursor;
+        ConcurrentNode last;
+        int i;
+
+        if (size() == 0) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+
+        i = ThreadLocalRandom.current().nextInt(size());
+        last = null;
+        for (cursor = head.get(); cursor != null; cursor = cursor.link) {
+            if (cursor.removed == 0) {
+                last = cursor;
+                if (i-- == 0) {
+                    break;
+                }
+            }
+        }
+
+        if (last == null) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+        return last.data;
+    }
+
+    /**
+     * Remove one copy of a specified element from this bag. Two threads that
+     * remove the same element at the same time remove two different copies, or
+     * one of them returns false if there is only one copy.
+     *
+     * @param target - the element to remove from this bag
+     * @return True if the element has been removed, else false
+     */
+    public boolean remove(int target) {
+        ConcurrentNode cursor;
+
+        for (cursor = head.get(); cursor != null; cursor = cursor.link) {
+            if (cursor.data == target && cursor.removed == 0
+                    && REMOVED.compareAndSet(cursor, 0, 1)) {
+                size.decrement();
+                garbage.increment();
+                if (ThreadLocalRandom.current().nextInt(COMPACT_SAMPLE) == 0) {
+                    compactIfNeeded();
+                }
+                return true;
+            }
+        }
+
+        // The target was not found, so nothing is removed
+        return false;
+    }
+
+    /**
+     * Accessor method to determine the number of elements in this bag
+     *
+     * @return The number of elements in this bag. While other threads are
+     * adding or removing, this is an estimate.
+     */
+    public int size() {
+        return (int) Math.max(size.sum(), 0);
+    }
+
+    /**
+     * Unlink every node that is marked as removed, unless another thread is
+     * already doing so. Adding and removing go on while this runs.
+     */
+    public void compact() {
+        ConcurrentNode first;
+        ConcurrentNode previous;
+        ConcurrentNode next;
+        long unlinked;
+
+        if (!compactionLock.tryLock()) {
+            return;  // another thread is compacting
+        }
+        try {
+            unlinked = 0;
+
+            // Drop removed nodes from the front; a failed CAS means a new node was pushed in front of them
+            first = head.get();
+            while (first != null && first.removed != 0) {
+                if (head.compareAndSet(first, first.link)) {
+                    unlinked++;
+                    first = first.link;
+                } else {
+                    first = head.get();
+                }
+            }
+
+            // Link each live node to the next live node. The removed nodes keep their own links,
+            // so a traversal that is standing on one of them still reaches the rest of the list.
+            previous = first;
+            while (previous != null) {
+                next = previous.link;
+                while (next != null && next.removed != 0) {
+                    next = next.link;
+                    unlinked++;
+                }
+                if (next != previous.link) {
+                    previous.link = next;
+                }
+                previous = next;
+            }
+
+            garbage.add(-unlinked);
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    /**
+     * Compact when at least half of the reachable nodes are marked as removed
+     */
+    private void compactIfNeeded() {
+        if (garbage.sum() >= size.sum()) {
+            compact();
+        }
+    }
+
+    /**
+     * Link a private chain of new nodes onto the front of the list
+     *
+     * @param first - the first node of the chain
+     * @param last - the last node of the chain, whose link will be set
+     */
+    private void push(ConcurrentNode first, ConcurrentNode last) {
+        ConcurrentNode oldHead;
+
+        do {
+            oldHead = head.get();
+            last.link = oldHead;
+        } while (!head.compareAndSet(oldHead, first));
+    }
+
+    private static final AtomicIntegerFieldUpdater<ConcurrentNode> REMOVED
+            = AtomicIntegerFieldUpdater.newUpdater(ConcurrentNode.class, "removed");
+
+    /**
+     * A node of the list. The data never changes; the link changes only before
+     * the node is published or under the compaction lock.
+     */
+    private static final class ConcurrentNode {
+
+        final int data;                 // the element in this node
+        volatile ConcurrentNode link;   // reference to the next node in the list
+        volatile int removed;           // 1 once the element has been removed, otherwise 0
+
+        ConcurrentNode(int data) {
+            this.data = data;
+        }
+    }
+}
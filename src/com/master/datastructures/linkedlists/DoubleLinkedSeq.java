@@ -1,20 +1,266 @@
 package com.master.datastructures.linkedlists;
 
 /**
+ * A sequence of double numbers with the cursor operations of IntLinkedSeq,
+ * stored in a doubly linked list. Because every node refers back to the node
+ * before it, the sequence can also move its cursor backwards (retreat) and
+ * jump to the last element (end), and removeCurrent takes constant time
+ * wherever the cursor is.
  *
  * @author simon_000
  */
-public class DoubleLinkedSeq {
-    int manyNodes;  // keeps track of the number of nodes in the list
-    /*
-    DoubleNode head;   // reference to the first node
-    DoubleNode tail;   // reference to the last node
-    DoubleNode cursor; // refers to the node with the current element (or null)
-    DoubleNode precursor;  // refers to the node before the current element (or null)
-    */
-    
+public class DoubleLinkedSeq implements Cloneable {
+    /**
+     * Invariant of the DoubleLinkedSeq class:
+     *      1. The elements in the sequence are stored in a doubly linked list.
+     *      2. The first reference of the list is in the instance variable head.
+     *      3. The last reference of the list is in the instance variable tail.
+     *      4. The node with the current element is in the instance variable
+     *         cursor, or cursor is null if there is no current element. The
+     *         node before it is cursor.getBack().
+     *      5. The total number of elements in the list is in the instance
+     *         variable manyNodes.
+     */
+
+    private int manyNodes;  // keeps track of the number of nodes in the list
+    private DoubleNode head;   // reference to the first node
+    private DoubleNode tail;   // reference to the last node
+    private DoubleNode cursor; // refers to the node with the current element (or null)
+
+    /**
+     * Constructor for the DoubleLinkedSeq class
+     * Initialize an empty sequence
+     */
     public DoubleLinkedSeq(){
+        head = null;
+        tail = null;
+        cursor = null;
         manyNodes = 0;
     }
-    
+
+    /**
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addBefore(double element) {
+        if (isCurrent()) {
+            cursor.addNodeBefore(element);
+            cursor = cursor.back;
+            if (cursor.back == null) {  // the new node is the first node
+                head = cursor;
+            }
+        } else {
+            head = new DoubleNode(element, null, head);
+            if (head.link != null) {
+                head.link.back = head;
+            } else {
+                tail = head;
+            }
+            cursor = head;
+        }
+
+        manyNodes++;  // update the invariant
+    }
+
+    /**
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addAfter(double element) {
+        if (isCurrent()) {
+            cursor.addNodeAfter(element);
+            cursor = cursor.link;
+            if (cursor.link == null) {  // the new node is the last node
+                tail = cursor;
+            }
+        } else {
+            tail = new DoubleNode(element, tail, null);
+            if (tail.back != null) {
+                tail.back.link = tail;
+            } else {
+                head = tail;
+            }
+            cursor = tail;
+        }
+
+        manyNodes++;  // update the invariant
+    }
+
+    /**
+     * Place the contents of another sequence at the end of this sequence. The
+     * current element does not change.
+     * @param addend - A sequence that will be placed at the end of this sequence
+     */
+    public void addAll(DoubleLinkedSeq addend){
+        DoubleNode copy[];
+
+        if(addend == null){
+            throw new IllegalArgumentException("addend is null");
+        }
+
+        if(addend.size() > 0){
+            copy = DoubleNode.listCopyWithTail(addend.head);
+            if(tail == null){  // this sequence is empty, so the copy is the whole list
+                head = copy[0];
+            }
+            else{
+                tail.link = copy[0];
+                copy[0].back = tail;
+            }
+            tail = copy[1];
+            manyNodes += addend.size();  // update the invariant
+        }
+    }
+
+    /**
+     * Determine the number of elements in this sequence
+     * @return The number of elements in this sequence
+     */
+    public int size() {
+        return manyNodes;
+    }
+
+    /**
+     * Accessor method to determine whether this sequence has a specified
+     * current element that can be retrieved with the getCurrent method
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    public boolean isCurrent() {
+        return cursor != null;
+    }
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    public double getCurrent() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return cursor.data;
+    }
+
+    /**
+     * Move forward, so that the current element is now the next element in this sequence
+     * Note: if there is no current element, nothing happens; if the current
+     *       element is the last one, there is no current element afterwards
+     */
+    public void advance() {
+        if (isCurrent()) {
+            cursor = cursor.link;
+        }
+    }
+
+    /**
+     * Move backward, so that the current element is now the previous element in this sequence
+     * Note: if there is no current element, nothing happens; if the current
+     *       element is the first one, there is no current element afterwards
+     */
+    public void retreat() {
+        if (isCurrent()) {
+            cursor = cursor.back;
+        }
+    }
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    public void start(){
+        cursor = head;
+    }
+
+    /**
+     * Set the current element at the end of this sequence
+     */
+    public void end(){
+        cursor = tail;
+    }
+
+    /**
+     * Remove the current element from this sequence in constant time. The
+     * element after it, if any, becomes the current element.
+     * Note: if there is no current element, removeCurrent must not be called
+     */
+    public void removeCurrent(){
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null");
+        }
+
+        if(cursor == head){
+            head = cursor.link;
+        }
+        if(cursor == tail){
+            tail = cursor.back;
+        }
+        cursor.unlink();
+        cursor = cursor.link;
+        manyNodes--;  // update invariant
+    }
+
+    /**
+     * Generate a copy of this sequence
+     * @return A copy of this sequence, whose current element is at the same
+     * position. Subsequent changes to the copy will not affect the original and vice versa.
+     */
+    @Override
+    public DoubleLinkedSeq clone(){
+        DoubleLinkedSeq answer;
+        DoubleNode copy[];
+        DoubleNode source;
+        DoubleNode target;
+
+        try{
+            answer = (DoubleLinkedSeq) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        copy = DoubleNode.listCopyWithTail(head);
+        answer.head = (copy == null) ? null : copy[0];
+        answer.tail = (copy == null) ? null : copy[1];
+        answer.cursor = null;
+
+        // Walk both lists together to find the copy of the current node
+        if(isCurrent()){
+            target = answer.head;
+            for(source = head; source != cursor; source = source.link){
+                target = target.link;
+            }
+            answer.cursor = target;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Create a new sequence that holds the elements of one sequence followed by
+     * those of another
+     * @param s1 - the first sequence
+     * @param s2 - the second sequence
+     * @return A new sequence with no current element
+     */
+    public static DoubleLinkedSeq concatenation(DoubleLinkedSeq s1, DoubleLinkedSeq s2){
+        DoubleLinkedSeq answer;
+
+        if( (s1 == null) || (s2 == null) ){
+            throw new IllegalArgumentException("s1 or s2 is null");
+        }
+
+        answer = new DoubleLinkedSeq();
+        answer.addAll(s1);
+        answer.addAll(s2);
+        return answer;
+    }
+
 }
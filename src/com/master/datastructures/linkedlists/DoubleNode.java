@@ -0,0 +1,144 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * DoubleNode data structure specification Creates doubly linked lists for
+ * double numbers. Each node refers to the node after it and to the node
+ * before it, so a node can be unlinked without searching for its
+ * predecessor.
+ *
+ * @author simon_000
+ */
+public class DoubleNode {
+
+    double data;        // holds the data of a node
+    DoubleNode link;    // reference to the next node in the linked list
+    DoubleNode back;    // reference to the previous node in the linked list
+
+    /**
+     * Constructor for the DoubleNode
+     *
+     * @param initialData - the initial data of this new node
+     * @param initialBack - a reference to the node before this new node (or
+     * null if there is none)
+     * @param initialLink - a reference to the node after this new node (or
+     * null if there is none)
+     */
+    public DoubleNode(double initialData, DoubleNode initialBack, DoubleNode initialLink) {
+        data = initialData;
+        back = initialBack;
+        link = initialLink;
+    }
+
+    /**
+     * Modification method to add a new node after this node
+     *
+     * @param element - the data to be placed in the new node
+     */
+    public void addNodeAfter(double element) {
+        link = new DoubleNode(element, this, link);
+        if (link.link != null) {
+            link.link.back = link;
+        }
+    }
+
+    /**
+     * Modification method to add a new node before this node
+     *
+     * @param element - the data to be placed in the new node
+     */
+    public void addNodeBefore(double element) {
+        back = new DoubleNode(element, back, this);
+        if (back.back != null) {
+            back.back.link = back;
+        }
+    }
+
+    /**
+     * Modification method to take this node out of its list. The nodes on
+     * either side are linked to each other; this node's own references are
+     * left unchanged.
+     */
+    public void unlink() {
+        if (back != null) {
+            back.link = link;
+        }
+        if (link != null) {
+            link.back = back;
+        }
+    }
+
+    public double getData() {
+        return data;
+    }
+
+    public DoubleNode getLink() {
+        return link;
+    }
+
+    public DoubleNode getBack() {
+        return back;
+    }
+
+    /**
+     * Modify the data of this node
+     *
+     * @param newData - the new data for this node
+     */
+    public void setData(double newData) {
+        data = newData;
+    }
+
+    /**
+     * Copy a list
+     *
+     * @param source - the head reference for a linked list that will be copied
+     * (which may be an empty list where source is null)
+     * @return An array of two references: the head and the tail of the copy,
+     * or null if source is null
+     */
+    public static DoubleNode[] listCopyWithTail(DoubleNode source) {
+        DoubleNode copyHead;
+        DoubleNode copyTail;
+        DoubleNode answer[] = new DoubleNode[2];
+
+        // Handle the special case of an empty list
+        if (source == null) {
+            return null;
+        }
+
+        // Make the first part of the newly created list
+        copyHead = new DoubleNode(source.data, null, null);
+        copyTail = copyHead;
+
+        // Make the rest of the nodes for the newly created list
+        while (source.link != null) {
+            source = source.link;
+            copyTail.link = new DoubleNode(source.data, copyTail, null);
+            copyTail = copyTail.link;
+        }
+
+        // Return the head and tail references for the new list
+        answer[0] = copyHead;
+        answer[1] = copyTail;
+        return answer;
+    }
+
+    /**
+     * Compute the number of nodes in a linked list
+     *
+     * @param head - the head reference for a linked list (which may be an empty
+     * list with a null head)
+     * @return The number of nodes in the list with the given head
+     */
+    public static int listLength(DoubleNode head) {
+        DoubleNode cursor;
+        int answer;
+
+        answer = 0;
+        for (cursor = head; cursor != null; cursor = cursor.link) {
+            answer++;
+        }
+
+        return answer;
+    }
+}
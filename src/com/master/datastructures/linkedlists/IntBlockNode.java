@@ -0,0 +1,328 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * IntBlockNode data structure specification Creates an unrolled linked list
+ * for integers. Each node holds a small block of elements in an int array, so
+ * a scan over the list reads mostly contiguous memory and pays the node
+ * overhead once per block instead of once per element.
+ *
+ * @author simon_000
+ */
+public class IntBlockNode {
+
+    public static final int DEFAULT_CAPACITY = 64;  // elements per block unless another size is given
+
+    int data[];         // data[0] through data[count-1] hold the elements of this block
+    int count;          // number of elements stored in this block
+    IntBlockNode link;  // reference to the next block in the linked list
+
+    /**
+     * Constructor for the IntBlockNode
+     *
+     * @param capacity - the largest number of elements this block can hold
+     * @param initialLink - a reference to the block after this new block (this
+     * reference may be null to indicate that there is no block after this new
+     * block)
+     * @exception IllegalArgumentException Indicates capacity is less than 2
+     */
+    public IntBlockNode(int capacity, IntBlockNode initialLink) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2: " + capacity);
+        }
+        data = new int[capacity];
+        count = 0;
+        link = initialLink;
+    }
+
+    /**
+     * Modification method to add a new element at the end of this block Note:
+     * This block must not be full
+     *
+     * @param element - the element to append
+     */
+    public void add(int element) {
+        data[count++] = element;
+    }
+
+    /**
+     * Modification method to insert a new element into this block Note: This
+     * block must not be full
+     *
+     * @param index - the position of the new element, from 0 to getCount()
+     * @param element - the element to insert
+     */
+    public void insert(int index, int element) {
+        System.arraycopy(data, index, data, index + 1, count - index);
+        data[index] = element;
+        count++;
+    }
+
+    /**
+     * Modification method to remove one element from this block
+     *
+     * @param index - the position of the element to remove, from 0 to
+     * getCount()-1
+     */
+    public void removeAt(int index) {
+        count--;
+        System.arraycopy(data, index + 1, data, index, count - index);
+    }
+
+    /**
+     * Modification method to move the upper half of this block into a new
+     * block that is placed after this block
+     *
+     * @return The new block
+     */
+    public IntBlockNode split() {
+        int keep = count / 2;
+        IntBlockNode answer = new IntBlockNode(data.length, link);
+
+        System.arraycopy(data, keep, answer.data, 0, count - keep);
+        answer.count = count - keep;
+        count = keep;
+        link = answer;
+        return answer;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getData(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index " + index + " is not in 0.." + (count - 1));
+        }
+        return data[index];
+    }
+
+    public IntBlockNode getLink() {
+        return link;
+    }
+
+    public boolean isFull() {
+        return count == data.length;
+    }
+
+    /**
+     * Modify one element of this block
+     *
+     * @param index - the position of the element, from 0 to getCount()-1
+     * @param newData - the new value of the element
+     */
+    public void setData(int index, int newData) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index " + index + " is not in 0.." + (count - 1));
+        }
+        data[index] = newData;
+    }
+
+    /**
+     * Modify the link of this block
+     *
+     * @param newLink - the new link reference for this block
+     */
+    public void setLink(IntBlockNode newLink) {
+        link = newLink;
+    }
+
+    /**
+     * Copy a list
+     *
+     * @param source - the head reference for a linked list that will be copied
+     * (which may be an empty list where source is null)
+     * @return The head reference for the copy
+     */
+    public static IntBlockNode listCopy(IntBlockNode source) {
+        IntBlockNode answer[] = listCopyWithTail(source);
+
+        if (answer == null) {
+            return null;
+        }
+        return answer[0];
+    }
+
+    /**
+     * Copy a list, providing a head and tail reference for the new copy
+     *
+     * @param source - the head reference for a linked list that will be copied
+     * (which may be an empty list where source is null)
+     * @return An array where [0] is the head reference for the copy and [1] is
+     * the tail reference, or null if source is null
+     */
+    public static IntBlockNode[] listCopyWithTail(IntBlockNode source) {
+        IntBlockNode answer[] = new IntBlockNode[2];
+        IntBlockNode copyHead;
+        IntBlockNode copyTail;
+
+        // Handle the special case of an empty list
+        if (source == null) {
+            return null;
+        }
+
+        // Make the first block of the newly created list
+        copyHead = copyBlock(source);
+        copyTail = copyHead;
+
+        // Make the rest of the blocks for the newly created list
+        while (source.link != null) {
+            source = source.link;
+            copyTail.link = copyBlock(source);
+            copyTail = copyTail.link;
+        }
+
+        // Return the head and tail references for the new list
+        answer[0] = copyHead;
+        answer[1] = copyTail;
+        return answer;
+    }
+
+    /**
+     * Compute the number of elements in a linked list
+     *
+     * @param head - the head reference for a linked list (which may be an empty
+     * list with a null head)
+     * @return The number of elements in all the blocks of the list
+     */
+    public static int listLength(IntBlockNode head) {
+        IntBlockNode cursor;
+        int answer;
+
+        answer = 0;
+        for (cursor = head; cursor != null; cursor = cursor.link) {
+            answer += cursor.count;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Copy part of a list, providing a head and tail reference for the new copy
+     *
+     * @param start - Reference to the first block to copy
+     * @param end - Reference to the last block to copy
+     * @return An array where [0] is the head reference for the copy and the [1]
+     * component is a reference to the tail of the copy
+     */
+    public static IntBlockNode[] listPart(IntBlockNode start, IntBlockNode end) {
+        IntBlockNode copyHead;
+        IntBlockNode copyTail;
+        IntBlockNode answer[] = new IntBlockNode[2];
+
+        // Check for illegal null reference at start or end
+        if (start == null) {
+            throw new IllegalArgumentException("start cannot be null");
+        }
+        if (end == null) {
+            throw new IllegalArgumentException("end cannot be null");
+        }
+
+        // Make the first block for the newly created list
+        copyHead = copyBlock(start);
+        copyTail = copyHead;
+
+        // Make the rest of the blocks for the newly created list
+        while (start != end) {
+            start = start.link;
+            if (start == null) {
+                throw new IllegalArgumentException("end block was not found on the list");
+            }
+            copyTail.link = copyBlock(start);
+            copyTail = copyTail.link;
+        }
+
+        // Return the head and tail reference for the new list
+        answer[0] = copyHead;
+        answer[1] = copyTail;
+        return answer;
+    }
+
+    /**
+     * Find the block that holds the element at a specified position in a
+     * linked list. Whole blocks are skipped by their counts, so only one step
+     * is taken per block.
+     *
+     * @param head - the head reference for a linked list (which may be an empty
+     * list with a null head)
+     * @param pos - an element number, where 1 is the first element
+     * @return A reference to the block holding element number pos, or null if
+     * the list has fewer than pos elements. The element is at index
+     * pos - 1 - (the number of elements in earlier blocks) of that block.
+     */
+    public static IntBlockNode listPosition(IntBlockNode head, int pos) {
+        IntBlockNode cursor;
+
+        if (pos <= 0) {
+            throw new IllegalArgumentException("pos must be positive");
+        }
+
+        for (cursor = head; cursor != null; cursor = cursor.link) {
+            if (pos <= cursor.count) {
+                return cursor;
+            }
+            pos -= cursor.count;
+        }
+
+        return null;
+    }
+
+    /**
+     * Search for a particular piece of data in a linked list
+     *
+     * @param head - The head reference for a linked list (which may be an empty
+     * list with a null head)
+     * @param target - a piece of data to search for
+     * @return A reference to the first block that contains the specified target
+     * or null if there is no such block
+     */
+    public static IntBlockNode listSearch(IntBlockNode head, int target) {
+        IntBlockNode cursor;
+
+        for (cursor = head; cursor != null; cursor = cursor.link) {
+            if (cursor.indexOf(target) >= 0) {
+                return cursor;
+            }
+        }
+
+        // Target not found in list
+        return null;
+    }
+
+    /**
+     * Search for a particular piece of data in this block
+     *
+     * @param target - a piece of data to search for
+     * @return The index of the first occurrence of target in this block, or -1
+     * if there is no such element
+     */
+    public int indexOf(int target) {
+        int i;
+        int[] block = data;
+
+        for (i = 0; i < count; i++) {
+            if (block[i] == target) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Make a new unlinked block with the same capacity and elements as another
+     *
+     * @param source - the block to copy
+     * @return The copy
+     */
+    private static IntBlockNode copyBlock(IntBlockNode source) {
+        IntBlockNode answer = new IntBlockNode(source.data.length, null);
+
+        System.arraycopy(source.data, 0, answer.data, 0, source.count);
+        answer.count = source.count;
+        return answer;
+    }
+}
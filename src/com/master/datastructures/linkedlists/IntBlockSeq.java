@@ -0,0 +1,336 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * A sequence of integers with the same cursor operations as IntLinkedSeq,
+ * stored in an unrolled linked list of IntBlockNode blocks.
+ *
+ * @author simon_000
+ */
+public class IntBlockSeq implements IntSeq, Cloneable {
+    /**
+     * Invariant of the IntBlockSeq class:
+     *      1. The elements in the sequence are stored in an unrolled linked
+     *         list of blocks, in order from the first element of the head
+     *         block to the last element of the tail block.
+     *      2. The first block of the list is in the instance variable head and
+     *         the last block is in the instance variable tail. Both are null
+     *         for a sequence that has never held an element.
+     *      3. Every block except the tail holds at least one element.
+     *      4. If there is a current element, it is element cursorIndex of the
+     *         block cursor; otherwise cursor is null.
+     *      5. The total number of elements is in the instance variable
+     *         manyItems.
+     */
+
+    private final int blockCapacity;  // number of elements each new block can hold
+    private int manyItems;            // keeps track of the number of elements in the sequence
+    private IntBlockNode head;        // reference to the first block
+    private IntBlockNode tail;        // reference to the last block
+    private IntBlockNode cursor;      // refers to the block with the current element (or null)
+    private int cursorIndex;          // position of the current element inside the cursor block
+
+    /**
+     * Constructor for the IntBlockSeq class
+     * Initialize an empty sequence that uses blocks of the default capacity
+     */
+    public IntBlockSeq() {
+        this(IntBlockNode.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initialize an empty sequence
+     *
+     * @param blockCapacity - the number of elements in each block
+     * @exception IllegalArgumentException
+     *   Indicates blockCapacity is less than 2
+     */
+    public IntBlockSeq(int blockCapacity) {
+        if(blockCapacity < 2){
+            throw new IllegalArgumentException("blockCapacity must be at least 2: " + blockCapacity);
+        }
+        this.blockCapacity = blockCapacity;
+        head = null;
+        tail = null;
+        cursor = null;
+        cursorIndex = 0;
+        manyItems = 0;
+    }
+
+    /**
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addBefore(int element) {
+        if(isCurrent()){
+            insertAt(cursor, cursorIndex, element);
+        }
+        else{
+            if(head == null){
+                head = new IntBlockNode(blockCapacity, null);
+                tail = head;
+            }
+            insertAt(head, 0, element);
+        }
+
+        manyItems++;  // update the invariant
+    }
+
+    /**
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addAfter(int element) {
+        if(isCurrent()){
+            insertAt(cursor, cursorIndex + 1, element);
+        }
+        else{
+            if(tail == null){
+                head = new IntBlockNode(blockCapacity, null);
+                tail = head;
+            }
+            else if(tail.isFull()){  // start a new block rather than splitting a full tail
+                tail.setLink(new IntBlockNode(blockCapacity, null));
+                tail = tail.getLink();
+            }
+            tail.add(element);
+            cursor = tail;
+            cursorIndex = tail.getCount() - 1;
+        }
+
+        manyItems++;  // update the invariant
+    }
+
+    /**
+     * Place the contents of another sequence at the end of this sequence
+     * @param addend - A sequence that will be placed at the end of this sequence
+     */
+    public void addAll(IntBlockSeq addend){
+        IntBlockNode[] copy;
+
+        if(addend == null){
+            throw new IllegalArgumentException("addend is null");
+        }
+
+        if(addend.size() > 0){
+            copy = IntBlockNode.listCopyWithTail(addend.head);
+            if(tail == null){
+                head = copy[0];
+            }
+            else if(tail.getCount() == 0){  // an empty tail would break invariant 3, so take over the first copied block
+                tail.data = copy[0].data;
+                tail.count = copy[0].count;
+                tail.setLink(copy[0].getLink());
+                if(copy[1] == copy[0]){
+                    copy[1] = tail;
+                }
+            }
+            else{
+                tail.setLink(copy[0]);
+            }
+            tail = copy[1];
+            manyItems += addend.size();  // update the invariant
+        }
+    }
+
+    /**
+     * Determine the number of elements in this sequence
+     * @return The number of elements in this sequence
+     */
+    public int size() {
+        return manyItems;
+    }
+
+    /**
+     * Accessor method to determine whether this sequence has a specified
+     * current element that can be retrieved with the getCurrent method
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    public boolean isCurrent() {
+        return cursor != null;
+    }
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    public int getCurrent() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return cursor.data[cursorIndex];
+    }
+
+    /**
+     * Move forward, so that the current element is now the next element in this sequence
+     * Note: if there is no current element, nothing happens
+     */
+    public void advance() {
+        if(isCurrent()){
+            cursorIndex++;
+            if(cursorIndex == cursor.getCount()){  // step into the next block
+                moveToNextBlock();
+            }
+        }
+    }
+
+    /**
+     * Generate a copy of this sequence
+     * @return A copy of this sequence. Subsequent changes to the copy will not affect the original and vice versa.
+     */
+    @Override
+    public IntBlockSeq clone(){
+        IntBlockSeq answer;
+        IntBlockNode[] copy;
+        IntBlockNode original;
+        IntBlockNode duplicate;
+
+        try{
+            answer = (IntBlockSeq) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        copy = IntBlockNode.listCopyWithTail(head);
+        if(copy == null){
+            return answer;
+        }
+        answer.head = copy[0];
+        answer.tail = copy[1];
+        answer.cursor = null;
+
+        // Walk both lists together to place the copy's cursor in the matching block
+        if(cursor != null){
+            original = head;
+            duplicate = answer.head;
+            while(original != cursor){
+                original = original.getLink();
+                duplicate = duplicate.getLink();
+            }
+            answer.cursor = duplicate;
+        }
+
+        return answer;
+    }
+
+    /**
+     * Create a new sequence that contains the elements of one sequence followed
+     * by the elements of another
+     * @param s1 - the first sequence
+     * @param s2 - the second sequence
+     * @return A new sequence with the elements of s1 followed by those of s2.
+     *         The new sequence has no current element.
+     */
+    public static IntBlockSeq concatenation(IntBlockSeq s1, IntBlockSeq s2){
+        if( (s1 == null) || (s2 == null) ){
+            throw new IllegalArgumentException("s1 or s2 is null");
+        }
+
+        IntBlockSeq answer = new IntBlockSeq(s1.blockCapacity);
+
+        answer.addAll(s1);  // add all from the first sequence
+        answer.addAll(s2);  // add all from the second sequence
+
+        return answer;
+    }
+
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element.
+     * Note: if there is no current element, removeCurrent must not be called
+     */
+    public void removeCurrent(){
+        IntBlockNode next;
+
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null");
+        }
+
+        cursor.removeAt(cursorIndex);
+        manyItems--;  // update invariant
+
+        next = cursor.getLink();
+        if(cursor.getCount() == 0 && next != null){
+            // Keep invariant 3 by moving the next block's contents into this one
+            cursor.data = next.data;
+            cursor.count = next.count;
+            cursor.setLink(next.getLink());
+            if(next == tail){
+                tail = cursor;
+            }
+        }
+        else if(next != null && cursor.getCount() + next.getCount() <= blockCapacity / 2){
+            // Merge two sparse neighbours so blocks stay reasonably full
+            System.arraycopy(next.data, 0, cursor.data, cursor.count, next.count);
+            cursor.count += next.count;
+            cursor.setLink(next.getLink());
+            if(next == tail){
+                tail = cursor;
+            }
+        }
+
+        if(cursorIndex == cursor.getCount()){
+            moveToNextBlock();
+        }
+    }
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    public void start(){
+        cursor = head;
+        cursorIndex = 0;
+        if(head != null && head.getCount() == 0){  // the only block is an empty tail
+            cursor = null;
+        }
+    }
+
+    /**
+     * Move the cursor to the first element of the block after the cursor
+     * block, or clear it when there is no such element
+     */
+    private void moveToNextBlock(){
+        cursor = cursor.getLink();
+        cursorIndex = 0;
+        if(cursor != null && cursor.getCount() == 0){  // only the tail may be empty
+            cursor = null;
+        }
+    }
+
+    /**
+     * Insert an element into a block, splitting the block first if it is full,
+     * and make the new element the current element
+     * @param block - the block that receives the element
+     * @param index - the position of the new element inside block
+     * @param element - the new element
+     */
+    private void insertAt(IntBlockNode block, int index, int element){
+        IntBlockNode upper;
+
+        if(block.isFull()){
+            upper = block.split();
+            if(block == tail){
+                tail = upper;
+            }
+            if(index > block.getCount()){
+                index -= block.getCount();
+                block = upper;
+            }
+        }
+
+        block.insert(index, element);
+        cursor = block;
+        cursorIndex = index;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.master.datastructures.linkedlists;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copies several IntNode chains into one new chain, using the common
+ * ForkJoinPool for large inputs. The source chains are first cut into
+ * segments of a fixed number of nodes by one read-only walk; the segments are
+ * then copied in parallel and spliced together in order. The source chains
+ * must not change while they are being copied.
+ *
+ * @author simon_000
+ */
+final class IntChainCopier {
+
+    private IntChainCopier() {
+    }
+
+    /**
+     * Copy the given chains, one after another, into a single new chain
+     *
+     * @param heads - the head references of the chains to copy (any of which
+     * may be null)
+     * @param totalLength - the total number of nodes in the chains
+     * @param threshold - the number of nodes in each segment; if totalLength
+     * is no more than this, the copy is made by the calling thread alone
+     * @return An array of two references: the head and the tail of the copy,
+     * or null if every chain is empty
+     */
+    static IntNode[] copyAll(IntNode heads[], long totalLength, int threshold) {
+        ArrayList<IntNode> starts;
+        ArrayList<Integer> lengths;
+        IntNode segmentHeads[];
+        IntNode segmentTails[];
+        IntNode cursor;
+        IntNode answer[];
+        int count;
+        int i;
+
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold must be at least 1: " + threshold);
+        }
+        if (totalLength <= threshold) {
+            threshold = Integer.MAX_VALUE;  // one segment per chain, copied sequentially below
+        }
+
+        // Cut the chains into segments
+        starts = new ArrayList<>();
+        lengths = new ArrayList<>();
+        for (IntNode head : heads) {
+            cursor = head;
+            while (cursor != null) {
+                starts.add(cursor);
+                for (count = 0; cursor != null && count < threshold; count++) {
+                    cursor = cursor.link;
+                }
+                lengths.add(count);
+            }
+        }
+        if (starts.isEmpty()) {
+            return null;
+        }
+
+        segmentHeads = new IntNode[starts.size()];
+        segmentTails = new IntNode[starts.size()];
+        SegmentCopy task = new SegmentCopy(starts, lengths, segmentHeads, segmentTails, 0, starts.size());
+        if (starts.size() == 1 || threshold == Integer.MAX_VALUE) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        // Splice the copied segments in order
+        for (i = 0; i + 1 < segmentHeads.length; i++) {
+            segmentTails[i].link = segmentHeads[i + 1];
+        }
+        answer = new IntNode[2];
+        answer[0] = segmentHeads[0];
+        answer[1] = segmentTails[segmentTails.length - 1];
+        return answer;
+    }
+
+    /**
+     * Copies the segments from one index to another, splitting the work in
+     * half until one segment is left
+     */
+    private static final class SegmentCopy extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ArrayList<IntNode> starts;
+        private final ArrayList<Integer> lengths;
+        private final IntNode segmentHeads[];
+        private final IntNode segmentTails[];
+        private final int from;     // the first segment to copy
+        private final int to;       // one past the last segment to copy
+
+        SegmentCopy(ArrayList<IntNode> starts, ArrayList<Integer> lengths,
+                IntNode segmentHeads[], IntNode segmentTails[], int from, int to) {
+            this.starts = starts;
+            this.lengths = lengths;
+            this.segmentHeads = segmentHeads;
+            this.segmentTails = segmentTails;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            int middle;
+
+            if (to - from > 1 && getPool() != null) {
+                middle = (from + to) >>> 1;
+                invokeAll(new SegmentCopy(starts, lengths, segmentHeads, segmentTails, from, middle),
+                        new SegmentCopy(starts, lengths, segmentHeads, segmentTails, middle, to));
+                return;
+            }
+
+            for (int s = from; s < to; s++) {
+                copySegment(s);
+            }
+        }
+
+        private void copySegment(int s) {
+            IntNode source = starts.get(s);
+            IntNode copyHead = new IntNode(source.data, null);
+            IntNode copyTail = copyHead;
+
+            for (int count = lengths.get(s) - 1; count > 0; count--) {
+                source = source.link;
+                copyTail.link = new IntNode(source.data, null);
+                copyTail = copyTail.link;
+            }
+            segmentHeads[s] = copyHead;
+            segmentTails[s] = copyTail;
+        }
+    }
+}
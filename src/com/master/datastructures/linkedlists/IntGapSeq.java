@@ -0,0 +1,313 @@
+package com.master.datastructures.linkedlists;
+
+import com.master.datastructures.generics.GrowthPolicy;
+
+/**
+ * A sequence of integers with the cursor operations of IntLinkedSeq, stored in
+ * a gap buffer: one array whose unused room (the gap) is kept just before the
+ * current element. Adding before or after the current element, removing it
+ * and advancing each move at most one element, so they take amortized
+ * constant time and allocate nothing until the array is full. Moving the
+ * cursor far away (start, seek, or adding when there is no current element)
+ * copies the elements between the old and new positions.
+ *
+ * @author simon_000
+ */
+public class IntGapSeq implements IntSeq, Cloneable {
+    /**
+     * Invariant of the IntGapSeq class:
+     *      1. The elements are data[0] through data[gapStart-1], followed by
+     *         data[gapEnd] through data[data.length-1]. The components from
+     *         gapStart to gapEnd-1 are the gap.
+     *      2. If gapEnd < data.length, the current element is data[gapEnd];
+     *         otherwise there is no current element (and the gap is at the end
+     *         of the array).
+     *      3. The number of elements is data.length - (gapEnd - gapStart).
+     */
+
+    private static final int INITIAL_CAPACITY = 10;
+
+    private int data[];
+    private int gapStart;   // the first component of the gap
+    private int gapEnd;     // one past the last component of the gap
+
+    /**
+     * Constructor for the IntGapSeq class
+     * Initialize an empty sequence with an initial capacity of 10
+     */
+    public IntGapSeq() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Initialize an empty sequence with a specified initial capacity
+     * @param initialCapacity - the number of elements the sequence can hold before it grows
+     * @exception IllegalArgumentException
+     *   Indicates initialCapacity is negative
+     */
+    public IntGapSeq(int initialCapacity) {
+        if(initialCapacity < 0){
+            throw new IllegalArgumentException("initialCapacity is negative: " + initialCapacity);
+        }
+        data = new int[initialCapacity];
+        gapStart = 0;
+        gapEnd = initialCapacity;
+    }
+
+    /**
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    @Override
+    public void addBefore(int element) {
+        if(!isCurrent()){
+            moveGapTo(0);
+        }
+        ensureGap();
+        data[--gapEnd] = element;
+    }
+
+    /**
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    @Override
+    public void addAfter(int element) {
+        if(isCurrent()){
+            data[gapStart++] = data[gapEnd++];  // the current element moves in front of the gap
+        }
+        ensureGap();
+        data[--gapEnd] = element;
+    }
+
+    /**
+     * Place the contents of another sequence at the end of this sequence. The
+     * current element does not change.
+     * @param addend - A sequence that will be placed at the end of this sequence
+     */
+    public void addAll(IntGapSeq addend){
+        int current;    // the position of the current element, or -1
+        int count;
+
+        if(addend == null){
+            throw new IllegalArgumentException("addend is null");
+        }
+
+        count = addend.size();
+        current = isCurrent() ? gapStart : -1;
+        moveGapTo(size());
+        ensureCapacity(size() + count);
+        System.arraycopy(addend.data, 0, data, gapStart, addend.gapStart);
+        System.arraycopy(addend.data, addend.gapEnd, data, gapStart + addend.gapStart,
+                addend.data.length - addend.gapEnd);
+        gapStart += count;
+        if(current >= 0){
+            moveGapTo(current);
+        }
+    }
+
+    /**
+     * Determine the number of elements in this sequence
+     * @return The number of elements in this sequence
+     */
+    @Override
+    public int size() {
+        return data.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Accessor method to determine whether this sequence has a specified
+     * current element that can be retrieved with the getCurrent method
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    @Override
+    public boolean isCurrent() {
+        return gapEnd < data.length;
+    }
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    @Override
+    public int getCurrent() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return data[gapEnd];
+    }
+
+    /**
+     * Accessor method to determine the position of the current element Note:
+     * isCurrent must return true
+     *
+     * @return The position of the current element, where 0 is the first
+     */
+    public int getCurrentIndex() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return gapStart;
+    }
+
+    /**
+     * Move forward, so that the current element is now the next element in this sequence
+     * Note: if there is no current element, nothing happens
+     */
+    @Override
+    public void advance() {
+        if(isCurrent()){
+            data[gapStart++] = data[gapEnd++];
+        }
+    }
+
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element.
+     * Note: if there is no current element, removeCurrent must not be called
+     */
+    @Override
+    public void removeCurrent(){
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null");
+        }
+
+        gapEnd++;   // the current element joins the gap
+    }
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    @Override
+    public void start(){
+        moveGapTo(0);
+    }
+
+    /**
+     * Make the element at a given position the current element
+     * @param index - the position, from 0 to size()-1
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not a position of this sequence
+     */
+    public void seek(int index){
+        if(index < 0 || index >= size()){
+            throw new IndexOutOfBoundsException("index " + index + " is not in 0.." + (size() - 1));
+        }
+        moveGapTo(index);
+    }
+
+    /**
+     * Change the capacity of this sequence
+     * @param minimumCapacity - the new capacity for this sequence
+     */
+    public void ensureCapacity(int minimumCapacity){
+        if(data.length < minimumCapacity){
+            resize(minimumCapacity);
+        }
+    }
+
+    /**
+     * Reduce the capacity of this sequence to its size
+     */
+    public void trimToSize(){
+        if(data.length != size()){
+            resize(size());
+        }
+    }
+
+    /**
+     * Generate a copy of this sequence
+     * @return A copy of this sequence, whose current element is at the same
+     * position. Subsequent changes to the copy will not affect the original and vice versa.
+     */
+    @Override
+    public IntGapSeq clone(){
+        IntGapSeq answer;
+
+        try{
+            answer = (IntGapSeq) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        answer.data = data.clone();
+        return answer;
+    }
+
+    /**
+     * Create a new sequence that holds the elements of one sequence followed by
+     * those of another
+     * @param s1 - the first sequence
+     * @param s2 - the second sequence
+     * @return A new sequence with no current element
+     */
+    public static IntGapSeq concatenation(IntGapSeq s1, IntGapSeq s2){
+        IntGapSeq answer;
+
+        if( (s1 == null) || (s2 == null) ){
+            throw new IllegalArgumentException("s1 or s2 is null");
+        }
+
+        answer = new IntGapSeq(GrowthPolicy.clamp(0, s1.size() + s2.size()));
+        answer.addAll(s1);
+        answer.addAll(s2);
+        return answer;
+    }
+
+    /**
+     * Move the gap so that a given number of elements come before it
+     * @param index - the number of elements that will be in front of the gap
+     */
+    private void moveGapTo(int index){
+        int count;
+
+        if(index < gapStart){
+            count = gapStart - index;
+            System.arraycopy(data, index, data, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        }
+        else if(index > gapStart){
+            count = index - gapStart;
+            System.arraycopy(data, gapEnd, data, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Make sure the gap has room for at least one element
+     */
+    private void ensureGap(){
+        if(gapStart == gapEnd){
+            resize(GrowthPolicy.DEFAULT.grow(data.length, data.length + 1));
+        }
+    }
+
+    /**
+     * Move the elements into a new array of a given length, keeping the gap
+     * (and so the current element) at the same position
+     * @param capacity - the length of the new array, no less than size()
+     */
+    private void resize(int capacity){
+        int newArray[] = new int[capacity];
+        int after = data.length - gapEnd;   // the number of elements after the gap
+
+        System.arraycopy(data, 0, newArray, 0, gapStart);
+        System.arraycopy(data, gapEnd, newArray, capacity - after, after);
+        data = newArray;
+        gapEnd = capacity - after;
+    }
+}
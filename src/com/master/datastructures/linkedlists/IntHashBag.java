@@ -0,0 +1,394 @@
+/**
+ * Invariant of the IntHashBag ADT 1. Each distinct element of the bag is stored
+ * once in the keys array, and the number of copies of that element is stored
+ * at the same index of the counts array 2. A slot is empty exactly when its
+ * count is zero 3. The slots use open addressing with linear probing, and no
+ * empty slot lies between an element's home slot and the slot where it is
+ * stored 4. The number of distinct elements is stored in the instance variable
+ * manyKeys and the total number of elements is stored in manyItems 5. The
+ * instance variable maxCount is never smaller than the largest count in the
+ * table
+ */
+package com.master.datastructures.linkedlists;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A collection of integer numbers with the same operations as IntLinkedBag.
+ * Each distinct element is stored once together with its number of
+ * occurrences, so add, remove and countOccurrences take constant expected time
+ * and no node is allocated per element. Limits: 1) Beyond Int.MAX_VALUE
+ * elements, countOccurrences, size and grab are wrong 2) The table never
+ * shrinks after elements are removed
+ *
+ * @author simon_000
+ */
+public class IntHashBag implements Cloneable {
+
+    private static final int INITIAL_CAPACITY = 16;    // must be a power of two
+    private static final int MAX_CAPACITY = 1 << 30;    // largest power of two array length
+    private static final int GRAB_ATTEMPTS = 64;        // random probes before grab falls back to a scan
+
+    private int keys[];     // The distinct elements of the bag
+    private int counts[];   // counts[i] is the number of copies of keys[i], or zero for an empty slot
+    private int manyKeys;   // Number of distinct elements in the bag
+    private int manyItems;  // Number of elements in the bag
+    private int maxCount;   // Upper bound on the largest value in counts
+
+    /**
+     * Initialize an empty bag
+     */
+    public IntHashBag() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Initialize an empty bag that can hold a specified number of distinct
+     * elements before its table needs to grow
+     *
+     * @param expectedKeys - the number of distinct elements expected
+     * @exception IllegalArgumentException Indicates expectedKeys is negative
+     */
+    public IntHashBag(int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("expectedKeys is negative: " + expectedKeys);
+        }
+        int capacity = tableSizeFor(expectedKeys);
+        keys = new int[capacity];
+        counts = new int[capacity];
+        manyKeys = 0;
+        manyItems = 0;
+        maxCount = 0;
+    }
+
+    /**
+     * Add a new element to this bag
+     *
+     * @param element - the new element that is being added
+     */
+    public void add(int element) {
+        addCopies(element, 1);
+    }
+
+    /**
+     * Add the contents of another bag to this bag
+     *
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    public void addAll(IntHashBag addend) {
+        int i;
+
+        // Check for illegal null reference at addend
+        if (addend == null) {
+            throw new NullPointerException("addend is null");
+        }
+
+        // Adding a bag to itself must not see its own new counts
+        if (addend == this) {
+            addend = addend.clone();
+        }
+
+        int[] addendKeys = addend.keys;
+        int[] addendCounts = addend.counts;
+        for (i = 0; i < addendKeys.length; i++) {
+            if (addendCounts[i] != 0) {
+                addCopies(addendKeys[i], addendCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * Add a variable number of new elements to this bag.
+     *
+     * @param elements - a variable number of new elements that are all being
+     * added
+     */
+    public void addMany(int... elements) {
+        // Activate the ordinary add method for each integer in the elements array
+        for (int i : elements) {
+            add(i);
+        }
+    }
+
+    /**
+     * Generate a copy of this bag
+     *
+     * @return A copy of this bag. Subsequent changes to the copy will not
+     * affect the original, nor vice versa.
+     */
+    @Override
+    public IntHashBag clone() {
+        IntHashBag answer;
+
+        try {
+            answer = (IntHashBag) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        answer.keys = keys.clone();
+        answer.counts = counts.clone();
+        return answer;
+    }
+
+    /**
+     * Accessor method to count the number of occurrences of a particular
+     * element in this bag.
+     *
+     * @param target - the element that needs to be counted
+     * @return The number of times that target occurs in this bag
+     */
+    public int countOccurrences(int target) {
+        int index = find(target);
+
+        if (index < 0) {
+            return 0;
+        } else {
+            return counts[index];
+        }
+    }
+
+    /**
+     * Accessor method to retrieve a random element from this bag Note: This bag
+     * cannot be empty
+     *
+     * @return A randomly selected element from this bag. Each copy of an
+     * element is equally likely to be chosen.
+     */
+    public int grab() {
+        ThreadLocalRandom generator = ThreadLocalRandom.current();
+        int i;
+        int slot;
+        int target;
+
+        if (manyItems == 0) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+
+        // Pick a random slot and keep it with probability counts[slot] / maxCount.
+        // Every copy of every element then has the same chance of being chosen.
+        for (i = 0; i < GRAB_ATTEMPTS; i++) {
+            slot = generator.nextInt(keys.length);
+            if (counts[slot] != 0 && generator.nextInt(maxCount) < counts[slot]) {
+                return keys[slot];
+            }
+        }
+
+        // The table is sparse or skewed, so walk the slots to the chosen copy instead
+        target = generator.nextInt(manyItems);
+        for (slot = 0; slot < keys.length; slot++) {
+            target -= counts[slot];
+            if (target < 0) {
+                break;
+            }
+        }
+
+        return keys[slot];
+    }
+
+    /**
+     * Remove one copy of a specified element from this bag
+     *
+     * @param target - the element to remove from this bag
+     * @return True if the element has been removed, else false
+     */
+    public boolean remove(int target) {
+        int index = find(target);
+
+        if (index < 0) {
+            // The target was not found, so nothing is removed
+            return false;
+        }
+
+        counts[index]--;
+        manyItems--;
+        if (counts[index] == 0) {
+            // The last copy is gone, so the slot becomes empty
+            manyKeys--;
+            shiftBack(index);
+        }
+        return true;
+    }
+
+    /**
+     * Accessor method to determine the number of elements in this bag
+     *
+     * @return The number of elements in this bag
+     */
+    public int size() {
+        return manyItems;
+    }
+
+    /**
+     * Create a new bag that contains all the elements from the two other bags
+     *
+     * @param b1 - the first of two bags
+     * @param b2 - the second of two bags
+     * @return A new bag that is the union of b1 and b2
+     */
+    public static IntHashBag union(IntHashBag b1, IntHashBag b2) {
+        IntHashBag answer;
+
+        // Check for null reference in b1 and b2
+        if (b1 == null) {
+            throw new NullPointerException("b1 is null");
+        }
+        if (b2 == null) {
+            throw new NullPointerException("b2 is null");
+        }
+
+        answer = new IntHashBag(b1.manyKeys + b2.manyKeys);
+        answer.addAll(b1);
+        answer.addAll(b2);
+        return answer;
+    }
+
+    // =========================================================================
+
+    /**
+     * Add a number of copies of one element, growing the table when it would
+     * become more than half full
+     *
+     * @param element - the element to add
+     * @param copies - the number of copies to add (must be positive)
+     */
+    private void addCopies(int element, int copies) {
+        int index = find(element);
+
+        if (index < 0) {
+            if (2 * (manyKeys + 1) > keys.length) {
+                resize(keys.length * 2);
+            }
+            index = slotFor(element);
+            keys[index] = element;
+            manyKeys++;
+        }
+
+        counts[index] += copies;
+        manyItems += copies;
+        if (counts[index] > maxCount) {
+            maxCount = counts[index];
+        }
+    }
+
+    /**
+     * Find the slot that holds an element
+     *
+     * @param element - the element to look for
+     * @return The index of the slot holding element, or -1 if it is not in
+     * this bag
+     */
+    private int find(int element) {
+        int mask = keys.length - 1;
+        int index;
+
+        for (index = hash(element) & mask; counts[index] != 0; index = (index + 1) & mask) {
+            if (keys[index] == element) {
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Find the first empty slot in the probe sequence of an element
+     *
+     * @param element - an element that is not in this bag
+     * @return The index of the slot where element should be stored
+     */
+    private int slotFor(int element) {
+        int mask = keys.length - 1;
+        int index;
+
+        for (index = hash(element) & mask; counts[index] != 0; index = (index + 1) & mask) {
+            // keep probing
+        }
+
+        return index;
+    }
+
+    /**
+     * Close the hole left by an emptied slot by moving later elements of the
+     * same probe run back, so that no lookup stops early (invariant 3)
+     *
+     * @param hole - the index of the slot that has just become empty
+     */
+    private void shiftBack(int hole) {
+        int mask = keys.length - 1;
+        int index = (hole + 1) & mask;
+        int home;
+
+        while (counts[index] != 0) {
+            home = hash(keys[index]) & mask;
+            // The element may move to the hole only if its home slot is not
+            // inside the cyclic range (hole, index]
+            if (((index - home) & mask) >= ((index - hole) & mask)) {
+                keys[hole] = keys[index];
+                counts[hole] = counts[index];
+                counts[index] = 0;
+                hole = index;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Move every element into a new table
+     *
+     * @param newCapacity - the new table length (a power of two)
+     */
+    private void resize(int newCapacity) {
+        int oldKeys[] = keys;
+        int oldCounts[] = counts;
+        int i;
+        int index;
+
+        if (newCapacity > MAX_CAPACITY || newCapacity <= 0) {
+            throw new OutOfMemoryError("IntHashBag cannot hold more than " + (MAX_CAPACITY / 2) + " distinct elements");
+        }
+
+        keys = new int[newCapacity];
+        counts = new int[newCapacity];
+        maxCount = 0;
+        for (i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                index = slotFor(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+                if (counts[index] > maxCount) {
+                    maxCount = counts[index];
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the smallest table length that keeps a number of distinct
+     * elements at most half full
+     *
+     * @param expectedKeys - the number of distinct elements
+     * @return A power of two no smaller than INITIAL_CAPACITY
+     */
+    private static int tableSizeFor(int expectedKeys) {
+        int capacity = INITIAL_CAPACITY;
+
+        while (capacity < MAX_CAPACITY && capacity < 2L * expectedKeys) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * Spread the bits of an element so that sequential values do not form
+     * long probe runs
+     *
+     * @param element - the element to hash
+     * @return A well mixed hash code for element
+     */
+    private static int hash(int element) {
+        int h = element * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
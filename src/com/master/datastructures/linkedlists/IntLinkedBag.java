@@ -2,10 +2,27 @@
  * Invariant of the IntLinkedBag ADT 1. The elements in the bag are stored in a
  * linked list 2. The head reference of the list is stored in the instance
  * variable head 3. The total number of elements in the list is stored in the
- * instance variable manyNodes
+ * instance variable manyNodes 4. The sampler is either null or an array whose
+ * components [0] through [manyNodes-1] refer to every node of the list, with
+ * the head in component [manyNodes-1]
  */
 package com.master.datastructures.linkedlists;
 
+import com.master.datastructures.generics.Sampling;
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 /**
  * A collection of integer numbers Limits: 1) Beyond Int.MAX_VALUE elements,
  * countOccurrences, size and grab are wrong 2) The slow linear algorithms of
@@ -13,10 +30,18 @@ package com.master.datastructures.linkedlists;
  *
  * @author simon_000
  */
-public class IntLinkedBag {
+public class IntLinkedBag implements Cloneable {
 
     private IntNode head;   // Head reference for the list
     private int manyNodes;  // Number of nodes in the list
+    private IntNode sampler[];  // Index of the nodes for random access, built by the first grab
+    private IntNodePool nodePool;   // Source of new nodes and home of removed ones, or null
+
+    /**
+     * The number of elements below which unionAll copies on the calling thread
+     * alone, and the number of nodes each parallel task copies
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * Initialize an empty bag
@@ -26,13 +51,31 @@ public class IntLinkedBag {
         manyNodes = 0;
     }
 
+    /**
+     * Make this bag take its new nodes from a pool and give removed nodes
+     * back to it. Clones of this bag share the pool.
+     *
+     * @param pool - the pool, or null to allocate nodes normally
+     */
+    public void setNodePool(IntNodePool pool) {
+        nodePool = pool;
+    }
+
+    public IntNodePool getNodePool() {
+        return nodePool;
+    }
+
     /**
      * Add a new element to this bag
      *
      * @param element - the new element that is being added
      */
     public void add(int element) {
-        head = new IntNode(element, head);
+        head = newNode(element, head);
+        if (sampler != null) {
+            ensureSamplerCapacity(manyNodes + 1);
+            sampler[manyNodes] = head;
+        }
         manyNodes++;
     }
 
@@ -43,6 +86,8 @@ public class IntLinkedBag {
      */
     public void addAll(IntLinkedBag addend) {
         IntNode copyInfo[];
+        IntNode cursor;
+        int i;
 
         // Check for illegal null reference at addend
         if (addend == null) {
@@ -53,23 +98,69 @@ public class IntLinkedBag {
             copyInfo = IntNode.listCopyWithTail(addend.head);
             copyInfo[1].setLink(head);  // Link the tail of the copy to my own head...
             head = copyInfo[0];         // ...and set my own head to the head of the copy.
+            if (sampler != null) {
+                // The new nodes go at the end of the sampler, with the new head last
+                ensureSamplerCapacity(manyNodes + addend.manyNodes);
+                cursor = head;
+                for (i = manyNodes + addend.manyNodes - 1; i >= manyNodes; i--) {
+                    sampler[i] = cursor;
+                    cursor = cursor.getLink();
+                }
+            }
             manyNodes += addend.manyNodes;
         }
     }
 
     /**
-     * Add a variable number of new elements to this bag. If these new elements
-     * would take this bag beyond its current capacity, then the capacity is
-     * increased before adding the new elements.
+     * Add part of an array of elements to this bag. The new nodes are linked
+     * into one chain first, which is then spliced onto the head of the list.
+     *
+     * @param elements - the array that holds the new elements
+     * @param offset - the position in elements of the first new element
+     * @param length - the number of new elements
+     * @exception IndexOutOfBoundsException Indicates offset and length do not
+     * describe a part of elements
+     */
+    public void addAll(int elements[], int offset, int length) {
+        IntNode first;
+        IntNode cursor;
+        int i;
+
+        if (offset < 0 || length < 0 || offset > elements.length - length) {
+            throw new IndexOutOfBoundsException("offset " + offset + " and length " + length
+                    + " are not within an array of length " + elements.length);
+        }
+        if (length == 0) {
+            return;
+        }
+
+        // Build the chain back to front, so that elements[offset] ends up at the head
+        first = newNode(elements[offset + length - 1], head);
+        for (i = offset + length - 2; i >= offset; i--) {
+            first = newNode(elements[i], first);
+        }
+        head = first;
+
+        if (sampler != null) {
+            // The new nodes go at the end of the sampler, with the new head last
+            ensureSamplerCapacity(manyNodes + length);
+            cursor = head;
+            for (i = manyNodes + length - 1; i >= manyNodes; i--) {
+                sampler[i] = cursor;
+                cursor = cursor.getLink();
+            }
+        }
+        manyNodes += length;
+    }
+
+    /**
+     * Add a variable number of new elements to this bag.
      *
      * @param elements - a variable number of new elements that are all being
      * added
      */
     public void addMany(int... elements) {
-        // Activate the ordinary add method for each integer in the elements array
-        for (int i : elements) {
-            add(i);
-        }
+        addAll(elements, 0, elements.length);
     }
 
     /**
@@ -89,6 +180,7 @@ public class IntLinkedBag {
         }
 
         answer.head = IntNode.listCopy(head);   // purpose is to create a new linked list for the clone's head instance variable to refer to
+        answer.sampler = null;                  // the clone builds its own index when it is first sampled
         return answer;
     }
 
@@ -118,23 +210,75 @@ public class IntLinkedBag {
 
     /**
      * Accessor method to retrieve a random element from this bag Note: This bag
-     * cannot be empty
+     * cannot be empty. The first call builds an index of the nodes in linear
+     * time; after that, each call takes constant time.
      *
      * @return A randomly selected element from this bag
      */
     public int grab() {
-        IntNode cursor;
-        int i;  // A random value between 1 and the size of the bag
+        return grab(ThreadLocalRandom.current());
+    }
 
+    /**
+     * Accessor method to retrieve a random element from this bag, using a
+     * given random number generator Note: This bag cannot be empty
+     *
+     * @param generator - the source of random numbers
+     * @return A randomly selected element from this bag
+     */
+    public int grab(Random generator) {
         if (manyNodes == 0) {
             throw new IllegalStateException("Bag size is zero.");
         }
 
-        // Get a random number from 1 to the size of the bag and go to that position
-        i = (int) (Math.random() * manyNodes) + 1;
-        cursor = IntNode.listPosition(head, i);
+        buildSampler();
+        return sampler[generator.nextInt(manyNodes)].getData();
+    }
+
+    /**
+     * Accessor method to retrieve several random elements from this bag in one
+     * call
+     *
+     * @param k - the number of elements to retrieve
+     * @param withReplacement - true if the same copy of an element may be
+     * chosen more than once; false if each copy is chosen at most once, in
+     * which case k must not exceed the size of the bag
+     * @param generator - the source of random numbers
+     * @return An array of k randomly selected elements. Without replacement,
+     * the order of the elements is not random.
+     * @exception IllegalArgumentException Indicates k is negative, or larger
+     * than the size of the bag when sampling without replacement
+     */
+    public int[] grabMany(int k, boolean withReplacement, Random generator) {
+        int answer[];
+        int chosen[];
+        int i;
 
-        return cursor.getData();
+        if (k < 0) {
+            throw new IllegalArgumentException("k is negative: " + k);
+        }
+        if (k > 0 && manyNodes == 0) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+
+        answer = new int[k];
+        if (k == 0) {
+            return answer;
+        }
+        buildSampler();
+
+        if (withReplacement) {
+            for (i = 0; i < k; i++) {
+                answer[i] = sampler[generator.nextInt(manyNodes)].getData();
+            }
+        } else {
+            chosen = Sampling.sampleIndexes(manyNodes, k, generator);
+            for (i = 0; i < k; i++) {
+                answer[i] = sampler[chosen[i]].getData();
+            }
+        }
+
+        return answer;
     }
 
     /**
@@ -145,6 +289,7 @@ public class IntLinkedBag {
      */
     public boolean remove(int target) {
         IntNode targetNode; // the node that contains the target
+        IntNode oldHead;
 
         targetNode = IntNode.listSearch(head, target);
         if (targetNode == null) {
@@ -154,12 +299,219 @@ public class IntLinkedBag {
             // The target was found at targetNode. 
             // Copy the head data to targetNode and then remove the extra copy of the head data
             targetNode.setData(head.getData());
+            oldHead = head;
             head = head.getLink();
             manyNodes--;
+            if (sampler != null) {
+                sampler[manyNodes] = null;  // the old head was the last node in the sampler
+            }
+            if (nodePool != null) {
+                nodePool.release(oldHead);
+            }
             return true;
         }
     }
 
+    /**
+     * Remove every copy of each of the specified elements from this bag, in
+     * one pass over the list
+     *
+     * @param targets - the elements to remove from this bag
+     * @return True if at least one element has been removed, else false
+     */
+    public boolean removeAll(int... targets) {
+        final IntHashBag set;
+
+        if (targets.length == 0 || manyNodes == 0) {
+            return false;
+        }
+        set = new IntHashBag(targets.length);
+        set.addMany(targets);
+        return removeIf(e -> set.countOccurrences(e) > 0);
+    }
+
+    /**
+     * Remove every element that is not one of the specified elements from this
+     * bag, in one pass over the list
+     *
+     * @param targets - the elements to keep in this bag
+     * @return True if at least one element has been removed, else false
+     */
+    public boolean retainAll(int... targets) {
+        final IntHashBag set;
+
+        set = new IntHashBag(targets.length);
+        set.addMany(targets);
+        return removeIf(e -> set.countOccurrences(e) == 0);
+    }
+
+    /**
+     * Remove every element of this bag that satisfies a condition, in one pass
+     * over the list
+     *
+     * @param filter - the condition; an element is removed when
+     * filter.test(element) is true
+     * @return True if at least one element has been removed, else false
+     */
+    public boolean removeIf(IntPredicate filter) {
+        IntNode previous;   // the last node that is kept (or null)
+        IntNode cursor;
+        IntNode next;
+        int removed;
+
+        if (filter == null) {
+            throw new NullPointerException("filter is null");
+        }
+
+        previous = null;
+        removed = 0;
+        for (cursor = head; cursor != null; cursor = next) {
+            next = cursor.getLink();
+            if (filter.test(cursor.getData())) {
+                if (previous == null) {
+                    head = next;
+                } else {
+                    previous.setLink(next);
+                }
+                if (nodePool != null) {
+                    nodePool.release(cursor);
+                }
+                removed++;
+            } else {
+                previous = cursor;
+            }
+        }
+
+        if (removed == 0) {
+            return false;
+        }
+        manyNodes -= removed;
+        sampler = null;     // rebuilt by the next grab
+        return true;
+    }
+
+    /**
+     * Create an iterator over the elements of this bag that returns them
+     * without boxing. Note: the bag must not change while the iterator is in
+     * use
+     *
+     * @return An iterator over the elements of this bag
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntLister(head);
+    }
+
+    /**
+     * Perform an action for each element of this bag
+     *
+     * @param action - the action to perform on each element
+     */
+    public void forEachInt(IntConsumer action) {
+        IntNode cursor;
+
+        if (action == null) {
+            throw new NullPointerException("action is null");
+        }
+        for (cursor = head; cursor != null; cursor = cursor.getLink()) {
+            action.accept(cursor.getData());
+        }
+    }
+
+    /**
+     * Copy the elements of this bag into a new array
+     *
+     * @return An array of length size() holding every element of this bag
+     */
+    public int[] toIntArray() {
+        int answer[] = new int[manyNodes];
+        IntNode cursor;
+        int i;
+
+        i = 0;
+        for (cursor = head; cursor != null; cursor = cursor.getLink()) {
+            answer[i++] = cursor.getData();
+        }
+        return answer;
+    }
+
+    /**
+     * Create a spliterator over the elements of this bag. Note: the bag must
+     * not change while the spliterator is in use
+     *
+     * @return A sized spliterator that splits the list into growing batches
+     */
+    public Spliterator.OfInt spliterator() {
+        return new IntNodeSpliterator(head, manyNodes, 0);
+    }
+
+    /**
+     * Create a sequential stream of the elements of this bag. Note: the bag
+     * must not change while the stream is used
+     *
+     * @return A stream of the elements of this bag
+     */
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    /**
+     * Create a parallel stream of the elements of this bag. Note: the bag
+     * must not change while the stream is used
+     *
+     * @return A parallel stream of the elements of this bag
+     */
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+
+    /**
+     * Write the elements of this bag as a compact IntNodeCodec record
+     *
+     * @param out - the channel to write to, such as a FileChannel
+     * @param sorted - true to write the elements in ascending order as
+     * differences, which usually takes a byte or less per element; false to
+     * write them in list order without sorting
+     * @exception IOException Indicates the channel could not be written
+     */
+    public void writeTo(WritableByteChannel out, boolean sorted) throws IOException {
+        int elements[];
+
+        if (out == null) {
+            throw new NullPointerException("out is null");
+        }
+        if (sorted) {
+            elements = toIntArray();
+            Arrays.sort(elements);
+            IntNodeCodec.write(elements, 0, elements.length, out, true);
+        } else {
+            IntNodeCodec.write(head, manyNodes, out, false);
+        }
+    }
+
+    /**
+     * Read a bag written by writeTo (or any IntNodeCodec record)
+     *
+     * @param in - the channel to read from, such as a FileChannel
+     * @return A new bag holding the elements of the record
+     * @exception IOException Indicates the channel could not be read or does
+     * not hold a valid record
+     */
+    public static IntLinkedBag readFrom(ReadableByteChannel in) throws IOException {
+        IntLinkedBag answer = new IntLinkedBag();
+        IntNode chain[];
+        int length[] = new int[1];
+
+        if (in == null) {
+            throw new NullPointerException("in is null");
+        }
+        chain = IntNodeCodec.readChain(in, length);
+        if (chain != null) {
+            answer.head = chain[0];
+            answer.manyNodes = length[0];
+        }
+        return answer;
+    }
+
     /**
      * Accessor method to determine the number of elements in this bag
      *
@@ -191,4 +543,104 @@ public class IntLinkedBag {
         answer.addAll(b2);
         return answer;
     }
+
+    /**
+     * Create a new bag that contains all the elements from a collection of
+     * bags. Large inputs are copied in parallel on the common ForkJoinPool.
+     *
+     * @param bags - the bags to combine
+     * @return A new bag that is the union of all the bags
+     */
+    public static IntLinkedBag unionAll(Collection<IntLinkedBag> bags) {
+        return unionAll(bags, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Create a new bag that contains all the elements from a collection of
+     * bags. The bags are cut into segments of parallelThreshold nodes, which
+     * are copied in parallel on the common ForkJoinPool and spliced together.
+     * Note: the bags must not change while this method runs
+     *
+     * @param bags - the bags to combine
+     * @param parallelThreshold - the number of elements below which the copy
+     * is made sequentially, and the size of each parallel segment
+     * @return A new bag that is the union of all the bags
+     * @exception IllegalArgumentException Indicates parallelThreshold is less
+     * than 1
+     * @exception OutOfMemoryError Indicates the bags hold more than
+     * Integer.MAX_VALUE elements in all
+     */
+    public static IntLinkedBag unionAll(Collection<IntLinkedBag> bags, int parallelThreshold) {
+        IntLinkedBag answer = new IntLinkedBag();
+        IntNode heads[];
+        IntNode copy[];
+        long total;
+        int i;
+
+        // Check for null reference in bags
+        if (bags == null) {
+            throw new NullPointerException("bags is null");
+        }
+
+        heads = new IntNode[bags.size()];
+        total = 0;
+        i = 0;
+        for (IntLinkedBag bag : bags) {
+            if (bag == null) {
+                throw new NullPointerException("bags contains null");
+            }
+            heads[i++] = bag.head;
+            total += bag.manyNodes;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("IntLinkedBag cannot hold more than " + Integer.MAX_VALUE + " elements");
+        }
+
+        copy = IntChainCopier.copyAll(heads, total, parallelThreshold);
+        if (copy != null) {
+            answer.head = copy[0];
+            answer.manyNodes = (int) total;
+        }
+        return answer;
+    }
+
+    // =========================================================================
+
+    /**
+     * Make a node, taking it from the pool if this bag has one
+     */
+    private IntNode newNode(int element, IntNode link) {
+        return (nodePool == null) ? new IntNode(element, link) : nodePool.allocate(element, link);
+    }
+
+    /**
+     * Build the sampler if it does not exist yet (invariant 4)
+     */
+    private void buildSampler() {
+        IntNode cursor;
+        int i;
+
+        if (sampler == null) {
+            sampler = new IntNode[Math.max(manyNodes, 1)];
+            i = manyNodes - 1;
+            for (cursor = head; cursor != null; cursor = cursor.getLink()) {
+                sampler[i--] = cursor;
+            }
+        }
+    }
+
+    /**
+     * Make sure the sampler has room for a number of nodes
+     *
+     * @param minimumCapacity - the number of nodes the sampler must hold
+     */
+    private void ensureSamplerCapacity(int minimumCapacity) {
+        IntNode biggerArray[];
+
+        if (sampler.length < minimumCapacity) {
+            biggerArray = new IntNode[Math.max(minimumCapacity, sampler.length * 2)];
+            System.arraycopy(sampler, 0, biggerArray, 0, manyNodes);
+            sampler = biggerArray;
+        }
+    }
 }
@@ -1,21 +1,39 @@
 package com.master.datastructures.linkedlists;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 /**
+ * A sequence of integers stored in a linked list of IntNodes, with the cursor
+ * operations described by IntSeq
  *
  * @author simon_000
  */
-public class IntLinkedSeq implements Cloneable {
+public class IntLinkedSeq implements IntSeq, Cloneable {
     /**
      * Invariant of the IntLinkedSeq class:
      *      1. The elements in the bag are stored in a linked list.
      *      2. The first reference of the list is in the instance variable head.
      *      3. The last reference of the list is in the instance variable tail.
      *      4. The current position reference of the list is in the instance
-     *         variable cursor.
+     *         variable cursor, or cursor is null if there is no current element.
      *      5. The position just before the current position is in the instance
-     *         variable precursor.
+     *         variable precursor, or precursor is null if the current element
+     *         is the first one or there is no current element.
      *      6. The total number of elements in the list is in the instance
      *         variable manyNodes.
+     *      7. The live bookmarks are in the instance variable bookmarks (null
+     *         until the first one is made), and each holds a node of the list
+     *         and the node before it, with the same meaning as cursor and
+     *         precursor.
      */
 
     private int manyNodes;  // keeps track of the number of nodes in the list
@@ -23,6 +41,14 @@ public class IntLinkedSeq implements Cloneable {
     private IntNode tail;   // reference to the last node
     private IntNode cursor; // refers to the node with the current element (or null)
     private IntNode precursor;  // refers to the node before the current element (or null)
+    private ArrayList<Bookmark> bookmarks;  // the live bookmarks of this sequence (or null)
+    private IntNodePool nodePool;   // source of new nodes and home of removed ones (or null)
+
+    /**
+     * The number of elements below which concatenateAll copies on the calling
+     * thread alone, and the number of nodes each parallel task copies
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
 
     /**
      * Constructor for the IntLinkedSeq class
@@ -32,43 +58,54 @@ public class IntLinkedSeq implements Cloneable {
         head = null;
         tail = null;
         cursor = null;
-        precursor = head;
+        precursor = null;
         manyNodes = 0;
     }
+    
+    /**
+     * Make this sequence take its new nodes from a pool and give removed
+     * nodes back to it. Clones of this sequence share the pool.
+     * @param pool - the pool, or null to allocate nodes normally
+     */
+    public void setNodePool(IntNodePool pool){
+        nodePool = pool;
+    }
+    
+    public IntNodePool getNodePool(){
+        return nodePool;
+    }
 
     /**
-     * Adds a new element to this sequence before the current element
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
      *
      * @param element - the new element that is being added
      */
     public void addBefore(int element) {
-        if (isCurrent()) {  // if there is a current element
-            if (cursor == head) {  // where cursor is the head
-                precursor = new IntNode(element, cursor);  // add new node
-                head = precursor;  // move head;
-            } else {  // if cursor is not the head
-                precursor.addNodeAfter(element);  // add new node
-                cursor = precursor.getLink();  // move cursor
-            }
+        if (isCurrent() && precursor != null) {  // if the cursor is not the head
+            precursor.addNodeAfter(element, nodePool);  // add new node
+            cursor = precursor.getLink();  // move cursor
         }
-        else{  // if no current element
-            if(head == null){
-                head = new IntNode(element, null);
-                cursor = head;  // move cursor
-                precursor = head;  // move precursor
-                tail = head;  // move tail
-            }
-            else{  // otherwise, add the node after the precursor, before cursor
-                precursor.addNodeAfter(element);  // add after precursor
+        else{  // if the cursor is the head, or there is no current element
+            head = newNode(element, head);  // add new node at the front
+            if(tail == null){  // the list was empty
+                tail = head;
             }
+            cursor = head;      // move cursor
+            precursor = null;   // nothing comes before the head
+        }
+        if(bookmarks != null){
+            inserted(precursor, cursor);
         }
 
         manyNodes++;  // update the invariant
-
     }
 
     /**
-     * Adds a new element to this sequence after the current element
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
      *
      * @param element - the new element that is being added
      * @exception OutOfMemoryError
@@ -76,25 +113,31 @@ public class IntLinkedSeq implements Cloneable {
      */
     public void addAfter(int element) {
         if (isCurrent()) {  // if there is a current element, add this element after
-            cursor.addNodeAfter(element);  // create new node
+            cursor.addNodeAfter(element, nodePool);  // create new node
+            if (cursor == tail) {       // the new node is now the last node
+                tail = cursor.getLink();
+            }
             precursor = cursor;         // move precursor 
             cursor = cursor.getLink();  // move cursor
+            if (bookmarks != null) {
+                inserted(precursor, cursor);
+            }
         }
         else{  // if no current element
             if(tail == null){  // when there is no tail reference, there's no head reference either
-                tail = new IntNode(element, null);  // create a new node and point tail to this node
-                cursor = tail;      // move cursor to the new node
-                precursor = tail;   // move precursor to tail
+                tail = newNode(element, null);  // create a new node and point tail to this node
+                precursor = null;   // nothing comes before the only node
                 head = tail;        // move head to the same node as tail
             }
             else{  // when tail is not null, there is a head so do nothing here
-                tail.addNodeAfter(element);  // create new node and point tail to it
+                tail.addNodeAfter(element, nodePool);  // create new node and point tail to it
                 precursor = tail;       // point precursor to original tail
                 tail = tail.getLink();  // tail gets updated link to new node
-                cursor = tail;          // update cursor to the new node
             }
-            manyNodes++;  // update invariant
+            cursor = tail;  // update cursor to the new node
         }
+
+        manyNodes++;  // update invariant
     }
     
     /**
@@ -110,13 +153,127 @@ public class IntLinkedSeq implements Cloneable {
         
         if(addend.size() > 0){
             copy = IntNode.listCopyWithTail(addend.head);
-            tail.getLink().setLink(copy[0]);  // set what used to be the last node to the start of the new list
-            copy[1].setLink(null);  // set link of last item to null
-            tail.setLink(copy[0]);  // set tail link to the first element of the copy
+            if(tail == null){  // this sequence is empty, so the copy is the whole list
+                head = copy[0];
+            }
+            else{
+                tail.setLink(copy[0]);  // set tail link to the first element of the copy
+            }
+            tail = copy[1];  // the last node of the copy is the new tail
             manyNodes += addend.size();  // update the invariant
         }
     }
 
+    /**
+     * Create an iterator over the elements of this sequence, from the first to
+     * the last, that returns them without boxing. The current element does not
+     * change, so any number of iterators may walk the sequence at once.
+     * Note: the sequence must not change while the iterator is in use
+     * @return An iterator over the elements of this sequence
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntLister(head);
+    }
+    
+    /**
+     * Perform an action for each element of this sequence, from the first to
+     * the last. The current element does not change.
+     * @param action - the action to perform on each element
+     */
+    public void forEachInt(IntConsumer action) {
+        IntNode node;
+        
+        if(action == null){
+            throw new NullPointerException("action is null");
+        }
+        for(node = head; node != null; node = node.getLink()){
+            action.accept(node.getData());
+        }
+    }
+    
+    /**
+     * Copy the elements of this sequence into a new array, in order
+     * @return An array of length size() holding the elements of this sequence
+     */
+    public int[] toIntArray() {
+        int answer[] = new int[manyNodes];
+        IntNode node;
+        int i;
+        
+        i = 0;
+        for(node = head; node != null; node = node.getLink()){
+            answer[i++] = node.getData();
+        }
+        return answer;
+    }
+    
+    /**
+     * Create a spliterator over the elements of this sequence, from the first
+     * to the last. The current element does not change.
+     * Note: the sequence must not change while the spliterator is in use
+     * @return A sized, ordered spliterator that splits the list into growing batches
+     */
+    public Spliterator.OfInt spliterator() {
+        return new IntNodeSpliterator(head, manyNodes, 0);
+    }
+    
+    /**
+     * Create a sequential stream of the elements of this sequence, in order.
+     * Note: the sequence must not change while the stream is used
+     * @return A stream of the elements of this sequence
+     */
+    public IntStream intStream() {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+    
+    /**
+     * Create a parallel stream of the elements of this sequence, in order.
+     * Note: the sequence must not change while the stream is used
+     * @return A parallel stream of the elements of this sequence
+     */
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(spliterator(), true);
+    }
+    
+    /**
+     * Write the elements of this sequence, in order, as a compact IntNodeCodec record
+     * @param out - the channel to write to, such as a FileChannel
+     * @param delta - true to write each element as its difference from the
+     *   one before it, which is much smaller for sorted sequences
+     * @exception IOException
+     *   Indicates the channel could not be written
+     */
+    public void writeTo(WritableByteChannel out, boolean delta) throws IOException {
+        if(out == null){
+            throw new IllegalArgumentException("out is null");
+        }
+        IntNodeCodec.write(head, manyNodes, out, delta);
+    }
+    
+    /**
+     * Read a sequence written by writeTo (or any IntNodeCodec record)
+     * @param in - the channel to read from, such as a FileChannel
+     * @return A new sequence with no current element
+     * @exception IOException
+     *   Indicates the channel could not be read or does not hold a valid record
+     */
+    public static IntLinkedSeq readFrom(ReadableByteChannel in) throws IOException {
+        IntLinkedSeq answer = new IntLinkedSeq();
+        IntNode chain[];
+        int length[] = new int[1];
+        
+        if(in == null){
+            throw new IllegalArgumentException("in is null");
+        }
+        chain = IntNodeCodec.readChain(in, length);
+        if(chain != null){
+            answer.head = chain[0];
+            answer.tail = chain[1];
+            answer.manyNodes = length[0];
+        }
+        return answer;
+    }
+
     /**
      * Determine the number of elements in this sequence
      * @return 
@@ -156,12 +313,16 @@ public class IntLinkedSeq implements Cloneable {
 
     /**
      * Move forward, so that the current element is now the next element in this sequence
-     * Note: isCurrent() must return true
+     * Note: if there is no current element, nothing happens; if the current
+     *       element is the last one, there is no current element afterwards
      */
     public void advance() {
         if (isCurrent()) {
             precursor = cursor;         // move the precursor to where the cursor is
             cursor = cursor.getLink();  // advance the current element forward to the next link
+            if (cursor == null) {       // moved off the end, so there is no current element
+                precursor = null;
+            }
         } else {
             // at end of sequence, do nothing
         }
@@ -169,12 +330,16 @@ public class IntLinkedSeq implements Cloneable {
     
     /**
      * Generate a copy of this sequence
-     * @return A copy of this sequence. Subsequent changes to the copy will not affect the original and vice versa.
+     * @return A copy of this sequence, whose current element is at the same position.
+     *         Subsequent changes to the copy will not affect the original and vice versa.
      * @throws CloneNotSupportedException 
      */
     @Override
     public Object clone() throws CloneNotSupportedException{
         IntLinkedSeq answer;
+        IntNode copy[];
+        IntNode source;
+        IntNode target;
         
         try{
             answer = (IntLinkedSeq) super.clone();
@@ -183,7 +348,22 @@ public class IntLinkedSeq implements Cloneable {
             throw new RuntimeException("This class does not implement Cloneable.");
         }
         
-        answer.head = IntNode.listCopy(head);
+        copy = IntNode.listCopyWithTail(head);
+        answer.head = (copy == null) ? null : copy[0];
+        answer.tail = (copy == null) ? null : copy[1];
+        answer.cursor = null;
+        answer.precursor = null;
+        answer.bookmarks = null;    // bookmarks belong to the original only
+        
+        // Walk both lists together to find the copies of the cursor and precursor
+        if(isCurrent()){
+            target = answer.head;
+            for(source = head; source != cursor; source = source.getLink()){
+                answer.precursor = target;
+                target = target.getLink();
+            }
+            answer.cursor = target;
+        }
         
         return answer;
     }
@@ -203,50 +383,98 @@ public class IntLinkedSeq implements Cloneable {
     }
     
     /**
-     * Remove the current element from this sequence
+     * Create a new sequence that holds the elements of a collection of
+     * sequences, one after another. Large inputs are copied in parallel on the
+     * common ForkJoinPool.
+     * @param seqs - the sequences to concatenate, in order
+     * @return A new sequence with no current element
+     */
+    public static IntLinkedSeq concatenateAll(Collection<IntLinkedSeq> seqs){
+        return concatenateAll(seqs, DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * Create a new sequence that holds the elements of a collection of
+     * sequences, one after another. The sequences are cut into segments of
+     * parallelThreshold nodes, which are copied in parallel on the common
+     * ForkJoinPool and spliced together in order.
+     * Note: the sequences must not change while this method runs
+     * @param seqs - the sequences to concatenate, in order
+     * @param parallelThreshold - the number of elements below which the copy
+     *   is made sequentially, and the size of each parallel segment
+     * @return A new sequence with no current element
+     * @exception IllegalArgumentException
+     *   Indicates seqs is or contains null, or parallelThreshold is less than 1
+     * @exception OutOfMemoryError
+     *   Indicates the sequences hold more than Integer.MAX_VALUE elements in all
+     */
+    public static IntLinkedSeq concatenateAll(Collection<IntLinkedSeq> seqs, int parallelThreshold){
+        IntLinkedSeq answer = new IntLinkedSeq();
+        IntNode heads[];
+        IntNode copy[];
+        long total;
+        int i;
+        
+        if(seqs == null){
+            throw new IllegalArgumentException("seqs is null");
+        }
+        
+        heads = new IntNode[seqs.size()];
+        total = 0;
+        i = 0;
+        for(IntLinkedSeq seq : seqs){
+            if(seq == null){
+                throw new IllegalArgumentException("seqs contains null");
+            }
+            heads[i++] = seq.head;
+            total += seq.manyNodes;
+        }
+        if(total > Integer.MAX_VALUE){
+            throw new OutOfMemoryError("IntLinkedSeq cannot hold more than " + Integer.MAX_VALUE + " elements");
+        }
+        
+        copy = IntChainCopier.copyAll(heads, total, parallelThreshold);
+        if(copy != null){
+            answer.head = copy[0];
+            answer.tail = copy[1];
+            answer.manyNodes = (int) total;
+        }
+        return answer;
+    }
+    
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element.
      * Note: if there is no current element, removeCurrent must not be called
      */
     public void removeCurrent(){
+        IntNode removed;
+        
         if(!isCurrent()){
             throw new IllegalStateException("isCurrent() is null");
         }
         
-        if(tail == head){  // only one node case
-            head = null;
-            tail = null;
-            precursor = head;
-            manyNodes--;  // update invariant
-            return;
+        if(precursor == null){  // if cursor is at the first node
+            head = cursor.getLink();
+        }
+        else{  // regular case
+            precursor.setLink(cursor.getLink());
         }
-        
         if(cursor == tail){  // if cursor is at the last node
-            tail = precursor;   // remove the last node
-            tail.setLink(null);
-            cursor = tail;      // move cursor
-            precursor = head;   // move precursor to beginning
-            while(precursor.getLink() != cursor){
-                // search for a link for precursor
-                if(precursor.getLink() == null){
-                    break;
-                }
-                precursor = precursor.getLink();
-            }
-            
-            manyNodes--;  // update invariant
-            return;
+            tail = precursor;
         }
-        
-        if(cursor == head){  // if cursor is at the first node
-            head = head.getLink();
-            cursor = head;
-            precursor = head;
-            manyNodes--;  // update invariant
-            return;
+        if(bookmarks != null){
+            removed(precursor, cursor);
         }
         
-        // regular case
-        cursor = cursor.getLink();
-        precursor.setLink(cursor);
+        removed = cursor;
+        cursor = cursor.getLink();  // move cursor to the next node
+        if(cursor == null){  // the last node was removed, so there is no current element
+            precursor = null;
+        }
+        if(nodePool != null){
+            nodePool.release(removed);
+        }
         manyNodes--;  // update invariant
     }
     
@@ -254,12 +482,159 @@ public class IntLinkedSeq implements Cloneable {
      * Set the current element at the front of this sequence
      */
     public void start(){
-        if(head == null){  // if there are no elements in the sequence
-            cursor = null; // no cursor
+        cursor = head;  // move cursor to the first node (or null if there are no elements)
+        precursor = null;
+    }
+    
+    /**
+     * Save the position of the current element, so that goTo can return to it
+     * in constant time. The bookmark follows its element while elements are
+     * added anywhere in the sequence. If its element is removed, the bookmark
+     * moves to the element after it, or to no element if it was the last one,
+     * just as the cursor does in removeCurrent.
+     * Note: every add and removeCurrent takes time proportional to the number
+     *       of live bookmarks, so bookmarks should be released when no longer needed
+     * @return A bookmark of the current position (which may be no current element)
+     */
+    public Bookmark bookmark(){
+        Bookmark answer = new Bookmark(this, cursor, precursor);
+        
+        if(bookmarks == null){
+            bookmarks = new ArrayList<>();
         }
+        bookmarks.add(answer);
+        return answer;
+    }
+    
+    /**
+     * Make the element held by a bookmark the current element
+     * @param mark - a live bookmark of this sequence
+     * @exception IllegalArgumentException
+     *   Indicates mark is null or belongs to another sequence
+     * @exception IllegalStateException
+     *   Indicates mark has been released
+     */
+    public void goTo(Bookmark mark){
+        checkOwner(mark);
+        cursor = mark.node;
+        precursor = mark.precursor;
+    }
+    
+    /**
+     * Move a bookmark to the current element
+     * @param mark - a live bookmark of this sequence
+     * @exception IllegalArgumentException
+     *   Indicates mark is null or belongs to another sequence
+     * @exception IllegalStateException
+     *   Indicates mark has been released
+     */
+    public void moveBookmark(Bookmark mark){
+        checkOwner(mark);
+        mark.node = cursor;
+        mark.precursor = precursor;
+    }
+    
+    /**
+     * Stop keeping a bookmark up to date. The bookmark can no longer be used.
+     * @param mark - a live bookmark of this sequence
+     * @exception IllegalArgumentException
+     *   Indicates mark is null or belongs to another sequence
+     * @exception IllegalStateException
+     *   Indicates mark has already been released
+     */
+    public void release(Bookmark mark){
+        checkOwner(mark);
+        bookmarks.remove(mark);
+        mark.owner = null;
+        mark.node = null;
+        mark.precursor = null;
+    }
+    
+    private void checkOwner(Bookmark mark){
+        if(mark == null){
+            throw new IllegalArgumentException("mark is null");
+        }
+        if(mark.owner == null){
+            throw new IllegalStateException("mark has been released");
+        }
+        if(mark.owner != this){
+            throw new IllegalArgumentException("mark belongs to another sequence");
+        }
+    }
+    
+    /**
+     * Make a node, taking it from the pool if this sequence has one
+     */
+    private IntNode newNode(int element, IntNode link){
+        return (nodePool == null) ? new IntNode(element, link) : nodePool.allocate(element, link);
+    }
+    
+    /**
+     * Repair the bookmarks after a node has been linked into the list
+     * @param before - the node before the new one, or null if it is the head
+     * @param node - the new node
+     */
+    private void inserted(IntNode before, IntNode node){
+        IntNode after = node.getLink();
         
-        cursor = head;  // move cursor to the first node
-        precursor = head;
+        if(after == null){  // nothing held the position after the last node
+            return;
+        }
+        for(Bookmark mark : bookmarks){
+            if(mark.node == after){  // the new node now comes before the bookmarked one
+                mark.precursor = node;
+            }
+        }
+    }
+    
+    /**
+     * Repair the bookmarks after a node has been unlinked from the list
+     * @param before - the node that was before the removed one, or null if it was the head
+     * @param node - the removed node, whose link still refers to the node after it
+     */
+    private void removed(IntNode before, IntNode node){
+        IntNode after = node.getLink();
+        
+        for(Bookmark mark : bookmarks){
+            if(mark.node == node){  // move on to the next element, as removeCurrent does
+                mark.node = after;
+                mark.precursor = (after == null) ? null : before;
+            }
+            else if(mark.precursor == node){
+                mark.precursor = before;
+            }
+        }
+    }
+    
+    /**
+     * A saved position in an IntLinkedSeq, made by bookmark and restored by goTo
+     */
+    public static final class Bookmark {
+        private IntLinkedSeq owner;     // the sequence, or null once released
+        private IntNode node;           // the bookmarked node, or null for no element
+        private IntNode precursor;      // the node before it, or null
+        
+        private Bookmark(IntLinkedSeq owner, IntNode node, IntNode precursor){
+            this.owner = owner;
+            this.node = node;
+            this.precursor = precursor;
+        }
+        
+        /**
+         * Determine whether this bookmark can still be used
+         * @return False if this bookmark has been released, otherwise true
+         */
+        public boolean isValid(){
+            return owner != null;
+        }
+        
+        /**
+         * Determine whether this bookmark holds an element
+         * @return True if goTo this bookmark would leave a current element
+         */
+        public boolean isCurrent(){
+            return node != null;
+        }
     }
 
 }
@@ -0,0 +1,58 @@
+package com.master.datastructures.linkedlists;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * An iterator over a chain of IntNodes that returns each element as an int,
+ * without boxing it. Many IntListers may walk the same chain at once; none of
+ * them changes the chain or the cursor of a sequence.
+ *
+ * @author simon_000
+ */
+public class IntLister implements PrimitiveIterator.OfInt {
+    private IntNode current;
+    
+    public IntLister(IntNode head){
+        current = head;
+    }
+    
+    @Override
+    public boolean hasNext(){
+        return (current != null);
+    }
+    
+    @Override
+    public int nextInt(){
+        int answer;
+        
+        if(!hasNext()){
+            throw new NoSuchElementException("The IntLister is empty.");
+        }
+        
+        answer = current.data;
+        current = current.link;
+        
+        return answer;
+    }
+    
+    @Override
+    public void forEachRemaining(IntConsumer action){
+        IntNode cursor;
+        
+        if(action == null){
+            throw new NullPointerException("action is null");
+        }
+        cursor = current;
+        current = null;
+        for(; cursor != null; cursor = cursor.link){
+            action.accept(cursor.data);
+        }
+    }
+    
+    @Override
+    public void remove(){
+        throw new UnsupportedOperationException("IntLister has no remove method.");
+    }
+}
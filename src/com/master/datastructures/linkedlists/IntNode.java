@@ -1,5 +1,8 @@
 package com.master.datastructures.linkedlists;
 
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 /**
  * IntNode data structure specification Creates a linked lists for integers
  *
@@ -32,6 +35,17 @@ public class IntNode {
         link = new IntNode(element, link);
     }
 
+    /**
+     * Modification method to add a new node after this node, taking the node
+     * from a pool
+     *
+     * @param element - the data to be placed in the new node
+     * @param pool - the pool to take the node from, or null to make a new node
+     */
+    public void addNodeAfter(int element, IntNodePool pool) {
+        link = (pool == null) ? new IntNode(element, link) : pool.allocate(element, link);
+    }
+
     public int getData() {
         return data;
     }
@@ -212,6 +226,22 @@ public class IntNode {
         link = link.link;
     }
 
+    /**
+     * Modification method to remove the node after this node and give it back
+     * to a pool Note: This node must not be the tail node of the list
+     *
+     * @param pool - the pool that takes the removed node, or null to leave it
+     * to the garbage collector
+     */
+    public void removeNodeAfter(IntNodePool pool) {
+        IntNode removed = link;
+
+        link = removed.link;
+        if (pool != null) {
+            pool.release(removed);
+        }
+    }
+
     /**
      * Modify the data of this node
      *
@@ -233,27 +263,214 @@ public class IntNode {
     // =========================================================================
     
     /**
-     * Create a new list of integers that is the same as the original but with all duplicates removed
-     * @param head - The first node of the original list
+     * Create a stream of the elements of a list, in order. A parallel stream
+     * splits the list into growing batches (see IntNodeSpliterator).
+     * Note: the list must not change while the stream is used
+     * @param head - The first node of the list (which may be null)
+     * @param parallel - true for a parallel stream
+     * @return A stream of the data of each node of the list
+     */
+    public static IntStream listStream(IntNode head, boolean parallel){
+        return StreamSupport.intStream(new IntNodeSpliterator(head), parallel);
+    }
+    
+    /**
+     * Remove every node whose data already appeared earlier in the list, so
+     * that the first occurrence of each value is kept. The elements seen so far
+     * are kept in a hash bag, so the list is scanned once.
+     * @param head - The first node of the list (which may be null)
      */
     public static void removeDuplicates(IntNode head){
+        IntHashBag seen;
+        IntNode previous;
+        
+        if(head == null){
+            return;
+        }
         
+        seen = new IntHashBag();
+        seen.add(head.data);
+        previous = head;
+        while(previous.link != null){
+            if(seen.countOccurrences(previous.link.data) > 0){
+                previous.removeNodeAfter();  // a duplicate, so unlink it
+            }
+            else{
+                seen.add(previous.link.data);
+                previous = previous.link;
+            }
+        }
     }
     
+    /**
+     * Sort a list into non-decreasing order with a natural bottom-up merge
+     * sort. Runs that are already in order (or in strictly decreasing order)
+     * are found first and then merged pairwise; the nodes are relinked, never
+     * copied, and equal elements keep their original order.
+     * @param head - The first node of the list (which may be null)
+     * @return The head reference of the sorted list, which is made of the same
+     *         nodes as the original list
+     */
     public static IntNode listSort(IntNode head){
-        // create the new linked list that will contain the sorted elements
-        IntNode sorted = null;
-
-        // find the largest element in the original linked list and initialize the first node in the sorted list
-   
+        IntNode pending[] = new IntNode[MERGE_LEVELS];  // pending[i] is a sorted list made of 2^i runs (or null)
+        IntNode run;
+        IntNode runTail;
+        IntNode rest;
+        IntNode sorted;
+        int i;
         
-        // remove the largest element in the original linked list
+        while(head != null){
+            // Cut the next natural run off the front of the list
+            runTail = head;
+            if(head.link != null && head.link.data < head.data){
+                // A strictly decreasing run is reversed as it is cut off
+                run = head;
+                rest = head.link;
+                run.link = null;
+                while(rest != null && rest.data < run.data){
+                    head = rest.link;
+                    rest.link = run;
+                    run = rest;
+                    rest = head;
+                }
+                head = rest;
+            }
+            else{
+                while(runTail.link != null && runTail.link.data >= runTail.data){
+                    runTail = runTail.link;
+                }
+                run = head;
+                head = runTail.link;
+                runTail.link = null;
+            }
+            
+            // Carry the run up through the pending lists like a binary counter
+            for(i = 0; pending[i] != null; i++){
+                run = merge(pending[i], run);
+                pending[i] = null;
+            }
+            pending[i] = run;
+        }
         
-        // continue adding the next biggest number to the head of the new linked list
+        // Merge what is left, from the newest (lowest) level to the oldest
+        sorted = null;
+        for(i = 0; i < MERGE_LEVELS; i++){
+            if(pending[i] != null){
+                sorted = (sorted == null) ? pending[i] : merge(pending[i], sorted);
+            }
+        }
         
+        return sorted;
+    }
+    
+    /**
+     * Sort a list into non-decreasing order with an LSD radix sort on bytes.
+     * The elements are gathered into an array, sorted there with four
+     * counting passes (passes where every key shares the same byte are
+     * skipped), and written back into the nodes in list order. No node is
+     * allocated or relinked, and the cost is linear in the length of the list.
+     * @param head - The first node of the list (which may be null)
+     * @return The head reference of the sorted list, which is the same as head
+     */
+    public static IntNode listRadixSort(IntNode head){
+        int keys[];
+        int buffer[];
+        int swap[];
+        int counts[] = new int[RADIX];
+        int manyItems;
+        int shift;
+        int bucket;
+        int total;
+        int i;
+        IntNode cursor;
+        
+        manyItems = listLength(head);
+        if(manyItems < 2){
+            return head;
+        }
+        
+        // Gather the keys, flipping the sign bit so negatives sort first
+        keys = new int[manyItems];
+        i = 0;
+        for(cursor = head; cursor != null; cursor = cursor.link){
+            keys[i++] = cursor.data ^ Integer.MIN_VALUE;
+        }
+        buffer = new int[manyItems];
+        
+        for(shift = 0; shift < 32; shift += 8){
+            // Count the keys in each bucket
+            for(i = 0; i < RADIX; i++){
+                counts[i] = 0;
+            }
+            for(i = 0; i < manyItems; i++){
+                counts[(keys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if(counts[(keys[0] >>> shift) & (RADIX - 1)] == manyItems){
+                continue;  // every key is in one bucket, so this pass changes nothing
+            }
+            
+            // Turn the counts into starting positions and distribute the keys
+            total = 0;
+            for(i = 0; i < RADIX; i++){
+                bucket = counts[i];
+                counts[i] = total;
+                total += bucket;
+            }
+            for(i = 0; i < manyItems; i++){
+                buffer[counts[(keys[i] >>> shift) & (RADIX - 1)]++] = keys[i];
+            }
+            swap = keys;
+            keys = buffer;
+            buffer = swap;
+        }
+        
+        // Store the sorted elements back into the nodes
+        i = 0;
+        for(cursor = head; cursor != null; cursor = cursor.link){
+            cursor.data = keys[i++] ^ Integer.MIN_VALUE;
+        }
         
-        return sorted;  // return the reference to the new linked list which is now sorted
+        return head;
+    }
+    
+    private static final int MERGE_LEVELS = 64;  // enough pending levels for any number of runs
+    private static final int RADIX = 256;        // buckets per radix sort pass
+    
+    /**
+     * Merge two sorted lists by relinking their nodes
+     * @param first - a non-empty sorted list whose elements came earlier
+     * @param second - a non-empty sorted list whose elements came later
+     * @return The head of the merged list. Equal elements from first stay in
+     *         front of those from second.
+     */
+    private static IntNode merge(IntNode first, IntNode second){
+        IntNode answer;
+        IntNode tail;
+        
+        if(second.data < first.data){
+            answer = second;
+            second = second.link;
+        }
+        else{
+            answer = first;
+            first = first.link;
+        }
+        
+        tail = answer;
+        while(first != null && second != null){
+            if(second.data < first.data){
+                tail.link = second;
+                second = second.link;
+            }
+            else{
+                tail.link = first;
+                first = first.link;
+            }
+            tail = tail.link;
+        }
+        tail.link = (first != null) ? first : second;
+        
+        return answer;
     }
-
     
 }
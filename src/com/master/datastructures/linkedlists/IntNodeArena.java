@@ -0,0 +1,233 @@
+package com.master.datastructures.linkedlists;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * IntNodeArena data structure specification Stores the nodes of integer linked
+ * lists outside the Java heap. A node is identified by an int handle, and its
+ * data and link are kept as two ints in a direct buffer, so the garbage
+ * collector never has to trace the nodes. Freed nodes are kept on a free list
+ * and reused by later allocations.
+ *
+ * Limits: 1) An arena holds at most MAX_NODES nodes 2) Direct memory is given
+ * back to the operating system when the closed arena's buffer is collected
+ *
+ * @author simon_000
+ */
+public class IntNodeArena implements AutoCloseable {
+
+    public static final int NULL = -1;  // handle that plays the role of a null link
+    public static final int MAX_NODES = Integer.MAX_VALUE / 8;  // a node takes 8 bytes of one buffer
+
+    private static final int INTS_PER_NODE = 2;  // [data, link]
+
+    private IntBuffer nodes;    // node i has its data at 2*i and its link at 2*i+1
+    private int capacity;       // number of nodes the buffer has room for
+    private int used;           // nodes 0 through used-1 have been handed out at least once
+    private int freeList;       // first freed node, linked through the link field
+    private int manyNodes;      // number of nodes currently allocated
+
+    /**
+     * Initialize an empty arena
+     *
+     * @param initialNodes - the number of nodes to reserve room for
+     * @exception IllegalArgumentException Indicates initialNodes is not
+     * between 1 and MAX_NODES
+     */
+    public IntNodeArena(int initialNodes) {
+        if (initialNodes < 1 || initialNodes > MAX_NODES) {
+            throw new IllegalArgumentException("initialNodes must be between 1 and " + MAX_NODES + ": " + initialNodes);
+        }
+        nodes = allocateBuffer(initialNodes);
+        capacity = initialNodes;
+        used = 0;
+        freeList = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Create a new node, reusing a freed node when there is one
+     *
+     * @param data - the data of the new node
+     * @param link - the handle of the node after the new node, or NULL
+     * @return The handle of the new node
+     */
+    public int allocate(int data, int link) {
+        int node;
+
+        ensureOpen();
+        if (freeList != NULL) {
+            node = freeList;
+            freeList = getLink(node);
+        } else {
+            if (used == capacity) {
+                grow();
+            }
+            node = used++;
+        }
+
+        nodes.put(node * INTS_PER_NODE, data);
+        nodes.put(node * INTS_PER_NODE + 1, link);
+        manyNodes++;
+        return node;
+    }
+
+    /**
+     * Give a node back to the arena so its slot can be reused. The handle must
+     * not be used again.
+     *
+     * @param node - the handle of a node from this arena
+     */
+    public void free(int node) {
+        ensureOpen();
+        nodes.put(node * INTS_PER_NODE + 1, freeList);
+        freeList = node;
+        manyNodes--;
+    }
+
+    /**
+     * Give every node of a linked list back to the arena
+     *
+     * @param head - the handle of the first node of the list, or NULL
+     */
+    public void freeChain(int head) {
+        int next;
+
+        while (head != NULL) {
+            next = getLink(head);
+            free(head);
+            head = next;
+        }
+    }
+
+    /**
+     * Free every node in the arena at once. All handles become invalid, but the
+     * buffer is kept for reuse.
+     */
+    public void clear() {
+        ensureOpen();
+        used = 0;
+        freeList = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Release the buffer of this arena. After closing, every method that
+     * allocates, frees or reads a node throws IllegalStateException, and no
+     * handle may be used again.
+     */
+    @Override
+    public void close() {
+        nodes = null;
+        capacity = 0;
+        used = 0;
+        freeList = NULL;
+        manyNodes = 0;
+    }
+
+    public int getData(int node) {
+        ensureOpen();
+        return nodes.get(node * INTS_PER_NODE);
+    }
+
+    public int getLink(int node) {
+        ensureOpen();
+        return nodes.get(node * INTS_PER_NODE + 1);
+    }
+
+    public void setData(int node, int newData) {
+        ensureOpen();
+        nodes.put(node * INTS_PER_NODE, newData);
+    }
+
+    public void setLink(int node, int newLink) {
+        ensureOpen();
+        nodes.put(node * INTS_PER_NODE + 1, newLink);
+    }
+
+    /**
+     * Accessor method to determine the number of allocated nodes
+     *
+     * @return The number of nodes that have been allocated and not freed
+     */
+    public int liveNodes() {
+        return manyNodes;
+    }
+
+    /**
+     * Accessor method to determine how many nodes fit in the current buffer
+     *
+     * @return The capacity of this arena in nodes
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Accessor method to determine whether this arena has been closed
+     *
+     * @return True if close has been called
+     */
+    public boolean isClosed() {
+        return nodes == null;
+    }
+
+    /**
+     * Copy a list inside this arena
+     *
+     * @param source - the handle of the first node of the list to copy, or NULL
+     * @return An array where [0] is the head handle of the copy and [1] is the
+     * tail handle, or null if source is NULL
+     */
+    public int[] listCopyWithTail(int source) {
+        int answer[] = new int[2];
+        int copyTail;
+
+        if (source == NULL) {
+            return null;
+        }
+
+        answer[0] = allocate(getData(source), NULL);
+        copyTail = answer[0];
+        for (source = getLink(source); source != NULL; source = getLink(source)) {
+            setLink(copyTail, allocate(getData(source), NULL));
+            copyTail = getLink(copyTail);
+        }
+
+        answer[1] = copyTail;
+        return answer;
+    }
+
+    /**
+     * Double the capacity of the buffer, keeping every node at its handle
+     */
+    private void grow() {
+        int newCapacity;
+        IntBuffer bigger;
+
+        if (capacity == MAX_NODES) {
+            throw new OutOfMemoryError("IntNodeArena cannot hold more than " + MAX_NODES + " nodes");
+        }
+        newCapacity = (int) Math.min((long) capacity * 2, MAX_NODES);
+
+        bigger = allocateBuffer(newCapacity);
+        nodes.clear();
+        bigger.put(nodes);
+        nodes = bigger;
+        capacity = newCapacity;
+    }
+
+    private void ensureOpen() {
+        if (nodes == null) {
+            throw new IllegalStateException("The arena has been closed.");
+        }
+    }
+
+    private static IntBuffer allocateBuffer(int manyNodes) {
+        return ByteBuffer.allocateDirect(manyNodes * INTS_PER_NODE * 4)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+    }
+}
@@ -0,0 +1,249 @@
+package com.master.datastructures.linkedlists;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes and reads IntNode chains in a compact binary form. Each element is
+ * written as a zig-zag varint, so small values of either sign take one or two
+ * bytes instead of four. In delta mode each element is written as its
+ * difference from the one before it, which makes sorted or nearly sorted
+ * chains much smaller still.
+ *
+ * The bytes go through one direct ByteBuffer per call, so nothing is allocated
+ * per element, and decoding builds the chain from the front with a tail
+ * reference. A record is a 4 byte magic number, a flags byte, the element
+ * count as a varint, and then the elements.
+ *
+ * @author simon_000
+ */
+public final class IntNodeCodec {
+
+    private static final int MAGIC = 0x494E4331;   // "INC1"
+    private static final int FLAG_DELTA = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private IntNodeCodec() {
+    }
+
+    /**
+     * Write a chain to a channel
+     *
+     * @param head - the head reference of the chain (which may be null)
+     * @param out - the channel to write to, such as a FileChannel
+     * @param delta - true to write each element as its difference from the
+     * one before it
+     * @exception IOException Indicates the channel could not be written
+     */
+    public static void writeChain(IntNode head, WritableByteChannel out, boolean delta) throws IOException {
+        write(head, IntNode.listLength(head), out, delta);
+    }
+
+    /**
+     * Read a chain written by writeChain (or by the writeTo method of
+     * IntLinkedSeq or IntLinkedBag). If the channel is seekable, its position
+     * is left just after the record; otherwise the bytes that follow the
+     * record may have been consumed.
+     *
+     * @param in - the channel to read from, such as a FileChannel
+     * @return An array of two references: the head and the tail of the new
+     * chain, or null if the record holds no elements
+     * @exception IOException Indicates the channel could not be read or does
+     * not hold a valid record
+     */
+    public static IntNode[] readChain(ReadableByteChannel in) throws IOException {
+        return readChain(in, new int[1]);
+    }
+
+    /**
+     * Write the first length nodes of a chain
+     */
+    static void write(IntNode head, int length, WritableByteChannel out, boolean delta) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        IntNode cursor;
+        int previous;
+        int value;
+
+        writeHeader(buffer, length, delta);
+        previous = 0;
+        cursor = head;
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < MAX_VARINT_BYTES) {
+                drain(buffer, out);
+            }
+            value = cursor.data;
+            writeVarint(buffer, zigZag(delta ? value - previous : value));
+            previous = value;
+            cursor = cursor.link;
+        }
+        drain(buffer, out);
+    }
+
+    /**
+     * Write part of an array as a record
+     */
+    static void write(int elements[], int offset, int length, WritableByteChannel out, boolean delta) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        int previous;
+        int value;
+
+        writeHeader(buffer, length, delta);
+        previous = 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (buffer.remaining() < MAX_VARINT_BYTES) {
+                drain(buffer, out);
+            }
+            value = elements[i];
+            writeVarint(buffer, zigZag(delta ? value - previous : value));
+            previous = value;
+        }
+        drain(buffer, out);
+    }
+
+    /**
+     * Read a record into a new chain
+     *
+     * @param length - an array whose first component is set to the number of
+     * elements read
+     */
+    static IntNode[] readChain(ReadableByteChannel in, int length[]) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        IntNode answer[];
+        IntNode head;
+        IntNode tail;
+        boolean delta;
+        int count;
+        int value;
+
+        buffer.limit(0);    // nothing has been read yet
+        if (readInt(buffer, in) != MAGIC) {
+            throw new StreamCorruptedException("not an IntNode record");
+        }
+        delta = (readByte(buffer, in) & FLAG_DELTA) != 0;
+        count = readVarint(buffer, in);
+        if (count < 0) {
+            throw new StreamCorruptedException("negative element count: " + count);
+        }
+
+        head = null;
+        tail = null;
+        value = 0;
+        for (int i = 0; i < count; i++) {
+            value = unZigZag(readVarint(buffer, in)) + (delta ? value : 0);
+            if (tail == null) {
+                head = new IntNode(value, null);
+                tail = head;
+            } else {
+                tail.link = new IntNode(value, null);
+                tail = tail.link;
+            }
+        }
+        if (in instanceof SeekableByteChannel) {    // give back the bytes read past the record
+            SeekableByteChannel seekable = (SeekableByteChannel) in;
+            seekable.position(seekable.position() - buffer.remaining());
+        }
+
+        length[0] = count;
+        if (head == null) {
+            return null;
+        }
+        answer = new IntNode[2];
+        answer[0] = head;
+        answer[1] = tail;
+        return answer;
+    }
+
+    private static void writeHeader(ByteBuffer buffer, int length, boolean delta) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length is negative: " + length);
+        }
+        buffer.putInt(MAGIC);
+        buffer.put((byte) (delta ? FLAG_DELTA : 0));
+        writeVarint(buffer, length);
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Put an unsigned varint: seven bits per byte, low bits first, with the
+     * high bit set on every byte but the last
+     */
+    private static void writeVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int readVarint(ByteBuffer buffer, ReadableByteChannel in) throws IOException {
+        int result = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            b = readByte(buffer, in);
+            if (shift == 28 && (b & 0xF0) != 0) {   // the fifth byte holds only the top four bits
+                throw new StreamCorruptedException("varint longer than 32 bits");
+            }
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    private static int readInt(ByteBuffer buffer, ReadableByteChannel in) throws IOException {
+        int answer = 0;
+
+        for (int i = 0; i < 4; i++) {
+            answer = (answer << 8) | (readByte(buffer, in) & 0xFF);
+        }
+        return answer;
+    }
+
+    private static byte readByte(ByteBuffer buffer, ReadableByteChannel in) throws IOException {
+        if (!buffer.hasRemaining()) {
+            fill(buffer, in);
+        }
+        return buffer.get();
+    }
+
+    /**
+     * Refill an empty buffer from a channel
+     */
+    private static void fill(ByteBuffer buffer, ReadableByteChannel in) throws IOException {
+        int read;
+
+        buffer.clear();
+        do {
+            read = in.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        if (read < 0) {
+            throw new EOFException("the channel ended inside an IntNode record");
+        }
+    }
+
+    /**
+     * Write everything in the buffer to a channel and empty the buffer
+     */
+    private static void drain(ByteBuffer buffer, WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,156 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * A free list of IntNodes. Structures that are given a pool take their new
+ * nodes from it and give back the nodes they remove, so a steady cycle of
+ * adds and removes allocates nothing once the pool has filled. The pool keeps
+ * at most maxSize nodes; nodes given back to a full pool are left to the
+ * garbage collector.
+ *
+ * Limits: 1) A pool is not thread-safe: share one only between structures
+ * used by the same thread, or use forCurrentThread 2) A node given back to
+ * the pool must not be referenced by anything else, so the structure must
+ * not change while one of its iterators, spliterators or streams is in use
+ *
+ * @author simon_000
+ */
+public final class IntNodePool {
+
+    /**
+     * The number of nodes kept by the pools of forCurrentThread
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final ThreadLocal<IntNodePool> PER_THREAD
+            = ThreadLocal.withInitial(() -> new IntNodePool(DEFAULT_MAX_SIZE));
+
+    private final int maxSize;
+    private IntNode free;   // the first free node, linked through the link field
+    private int size;       // the number of free nodes
+    private long hits;      // allocations served from the free list
+    private long misses;    // allocations that made a new node
+    private long discards;  // nodes given back to a full pool
+
+    /**
+     * Initialize an empty pool
+     *
+     * @param maxSize - the largest number of free nodes the pool keeps
+     * @exception IllegalArgumentException Indicates maxSize is negative
+     */
+    public IntNodePool(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize is negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the pool that belongs to the calling thread, with room for
+     * DEFAULT_MAX_SIZE nodes
+     *
+     * @return The pool of the calling thread
+     */
+    public static IntNodePool forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    /**
+     * Get a node, reusing a free node when there is one
+     *
+     * @param data - the data of the node
+     * @param link - the node after it, or null
+     * @return A node holding data and link
+     */
+    public IntNode allocate(int data, IntNode link) {
+        IntNode answer = free;
+
+        if (answer == null) {
+            misses++;
+            return new IntNode(data, link);
+        }
+        hits++;
+        free = answer.link;
+        size--;
+        answer.data = data;
+        answer.link = link;
+        return answer;
+    }
+
+    /**
+     * Give back a node that is no longer in any list
+     *
+     * @param node - the node, which must not be used again
+     */
+    public void release(IntNode node) {
+        if (size == maxSize) {
+            discards++;
+            return;
+        }
+        node.link = free;
+        free = node;
+        size++;
+    }
+
+    /**
+     * Drop every free node
+     */
+    public void clear() {
+        free = null;
+        size = 0;
+    }
+
+    /**
+     * Reset the hit, miss and discard counts to zero
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        discards = 0;
+    }
+
+    /**
+     * Determine the number of free nodes in this pool
+     *
+     * @return The number of free nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Determine the number of allocations served by a free node
+     *
+     * @return The number of hits since the last resetStatistics
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Determine the number of allocations that made a new node
+     *
+     * @return The number of misses since the last resetStatistics
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Determine the number of nodes given back while the pool was full
+     *
+     * @return The number of discards since the last resetStatistics
+     */
+    public long getDiscards() {
+        return discards;
+    }
+
+    @Override
+    public String toString() {
+        return "IntNodePool[size=" + size + ", maxSize=" + maxSize + ", hits=" + hits
+                + ", misses=" + misses + ", discards=" + discards + "]";
+    }
+}
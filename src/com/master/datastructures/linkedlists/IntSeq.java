@@ -0,0 +1,79 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * The cursor operations shared by the integer sequences of this package. A
+ * sequence has at most one current element:
+ *      1. addBefore puts the new element before the current element, or at the
+ *         front if there is no current element; addAfter puts it after the
+ *         current element, or at the end if there is none. Either way the new
+ *         element becomes the current element.
+ *      2. advance moves to the next element; after the last element there is
+ *         no current element.
+ *      3. removeCurrent makes the element after the removed one current, or
+ *         leaves no current element if the last element was removed.
+ *      4. start makes the first element current (or leaves no current element
+ *         in an empty sequence).
+ * Code written against IntSeq can switch implementations by changing the
+ * IntSeqType that creates the sequence.
+ *
+ * @author simon_000
+ */
+public interface IntSeq {
+
+    /**
+     * Adds a new element to this sequence before the current element, or at
+     * the front if there is no current element. The new element becomes the
+     * current element.
+     *
+     * @param element - the new element that is being added
+     */
+    void addBefore(int element);
+
+    /**
+     * Adds a new element to this sequence after the current element, or at
+     * the end if there is no current element. The new element becomes the
+     * current element.
+     *
+     * @param element - the new element that is being added
+     */
+    void addAfter(int element);
+
+    /**
+     * Move forward, so that the current element is now the next element in
+     * this sequence. Note: if there is no current element, nothing happens
+     */
+    void advance();
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    int getCurrent();
+
+    /**
+     * Accessor method to determine whether this sequence has a current element
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    boolean isCurrent();
+
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element. Note: isCurrent must return true
+     */
+    void removeCurrent();
+
+    /**
+     * Determine the number of elements in this sequence
+     *
+     * @return The number of elements in this sequence
+     */
+    int size();
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    void start();
+}
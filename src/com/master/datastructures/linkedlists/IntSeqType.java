@@ -0,0 +1,83 @@
+package com.master.datastructures.linkedlists;
+
+import java.util.Locale;
+
+/**
+ * The implementations of IntSeq, as a factory. Code that creates its
+ * sequences with IntSeqType.DEFAULT.create() (or a named type) switches
+ * implementation by changing one line, or with the system property
+ * com.master.datastructures.intseq, whose value is the name of a type.
+ *
+ * @author simon_000
+ */
+public enum IntSeqType {
+
+    /**
+     * A singly linked list of IntNodes (IntLinkedSeq)
+     */
+    LINKED {
+        @Override
+        public IntSeq create() {
+            return new IntLinkedSeq();
+        }
+    },
+    /**
+     * An array with a gap at the cursor (IntGapSeq): edits at the cursor take
+     * amortized constant time and traversal is a sequential array scan
+     */
+    GAP {
+        @Override
+        public IntSeq create() {
+            return new IntGapSeq();
+        }
+    },
+    /**
+     * An unrolled linked list of IntBlockNodes (IntBlockSeq)
+     */
+    BLOCK {
+        @Override
+        public IntSeq create() {
+            return new IntBlockSeq();
+        }
+    },
+    /**
+     * An indexable skip list (IntSkipSeq)
+     */
+    SKIP {
+        @Override
+        public IntSeq create() {
+            return new IntSkipSeq();
+        }
+    };
+
+    /**
+     * The type named by the system property com.master.datastructures.intseq,
+     * in any case, or LINKED if the property is not set or names no type
+     */
+    public static final IntSeqType DEFAULT
+            = parse(System.getProperty("com.master.datastructures.intseq"));
+
+    /**
+     * Create an empty sequence of this type
+     *
+     * @return A new, empty sequence
+     */
+    public abstract IntSeq create();
+
+    /**
+     * Find the type with a name, ignoring case
+     *
+     * @param name - the name of a type (which may be null)
+     * @return The type with that name, or LINKED if there is none
+     */
+    private static IntSeqType parse(String name) {
+        if (name != null) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                // an unknown name falls back to the default below
+            }
+        }
+        return LINKED;
+    }
+}
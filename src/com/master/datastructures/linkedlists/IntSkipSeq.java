@@ -0,0 +1,432 @@
+package com.master.datastructures.linkedlists;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sequence of integers with the cursor operations of IntLinkedSeq and
+ * positional access. The elements are kept in an indexable skip list: every
+ * link also records how many positions it skips, so get, set, insert, removeAt
+ * and seek take O(log n) expected time, while advance stays O(1).
+ *
+ * @author simon_000
+ */
+public class IntSkipSeq implements IntSeq, Cloneable {
+    /**
+     * Invariant of the IntSkipSeq class:
+     *      1. The elements are stored in order in the level 0 list that starts
+     *         after the sentinel node head. A node with k levels is also on
+     *         the lists of levels 1 through k-1.
+     *      2. For each level l of a node x, x.width[l] is the number of
+     *         positions from x to x.next[l]. When x.next[l] is null, it is the
+     *         number of positions from x to one past the last element. The
+     *         sentinel is at position -1.
+     *      3. Levels 0 through levels-1 of the sentinel are in use; the higher
+     *         levels of the sentinel are empty.
+     *      4. If there is a current element, it is in the node cursor at
+     *         position cursorIndex; otherwise cursor is null.
+     *      5. The total number of elements is in the instance variable
+     *         manyItems.
+     */
+
+    private static final int MAX_LEVEL = 32;  // enough levels for 2^32 elements
+
+    private SkipNode head;      // sentinel before the first element
+    private int levels;         // number of levels in use
+    private int manyItems;      // keeps track of the number of elements in the sequence
+    private SkipNode cursor;    // refers to the node with the current element (or null)
+    private int cursorIndex;    // position of the current element
+    private SkipNode update[];  // scratch for insertNode and removeAt: the last node before the index on each level
+    private int rank[];         // scratch for insertNode: the position of update[l]
+
+    /**
+     * Constructor for the IntSkipSeq class
+     * Initialize an empty sequence
+     */
+    public IntSkipSeq() {
+        head = new SkipNode(0, MAX_LEVEL);
+        for(int l = 0; l < MAX_LEVEL; l++){
+            head.width[l] = 1;
+        }
+        levels = 1;
+        manyItems = 0;
+        cursor = null;
+        cursorIndex = 0;
+        update = new SkipNode[MAX_LEVEL];
+        rank = new int[MAX_LEVEL];
+    }
+
+    /**
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addBefore(int element) {
+        int index = isCurrent() ? cursorIndex : 0;
+
+        cursor = insertNode(index, element);
+        cursorIndex = index;
+    }
+
+    /**
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addAfter(int element) {
+        int index = isCurrent() ? cursorIndex + 1 : manyItems;
+
+        cursor = insertNode(index, element);
+        cursorIndex = index;
+    }
+
+    /**
+     * Determine the number of elements in this sequence
+     * @return The number of elements in this sequence
+     */
+    public int size() {
+        return manyItems;
+    }
+
+    /**
+     * Accessor method to determine whether this sequence has a specified
+     * current element that can be retrieved with the getCurrent method
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    public boolean isCurrent() {
+        return cursor != null;
+    }
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    public int getCurrent() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return cursor.data;
+    }
+
+    /**
+     * Accessor method to determine the position of the current element Note:
+     * isCurrent must return true
+     *
+     * @return The position of the current element, where 0 is the first
+     */
+    public int getCurrentIndex() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return cursorIndex;
+    }
+
+    /**
+     * Move forward, so that the current element is now the next element in this sequence
+     * Note: if there is no current element, nothing happens
+     */
+    public void advance() {
+        if(isCurrent()){
+            cursor = cursor.next[0];
+            cursorIndex++;
+        }
+    }
+
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element.
+     * Note: if there is no current element, removeCurrent must not be called
+     */
+    public void removeCurrent(){
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null");
+        }
+
+        removeAt(cursorIndex);
+    }
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    public void start(){
+        cursor = head.next[0];
+        cursorIndex = 0;
+    }
+
+    /**
+     * Make the element at a given position the current element
+     * @param index - the position, from 0 to size()-1
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not a position of this sequence
+     */
+    public void seek(int index){
+        checkIndex(index, manyItems);
+        cursor = findNode(index);
+        cursorIndex = index;
+    }
+
+    /**
+     * Accessor method to retrieve the element at a given position
+     * @param index - the position, from 0 to size()-1
+     * @return The element at that position
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not a position of this sequence
+     */
+    public int get(int index){
+        checkIndex(index, manyItems);
+        return findNode(index).data;
+    }
+
+    /**
+     * Replace the element at a given position
+     * @param index - the position, from 0 to size()-1
+     * @param element - the new element
+     * @return The element that was replaced
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not a position of this sequence
+     */
+    public int set(int index, int element){
+        SkipNode node;
+        int answer;
+
+        checkIndex(index, manyItems);
+        node = findNode(index);
+        answer = node.data;
+        node.data = element;
+        return answer;
+    }
+
+    /**
+     * Insert an element at a given position. The elements from that position
+     * on move one position back, and the current element does not change.
+     * @param index - the position of the new element, from 0 to size()
+     * @param element - the new element
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not between 0 and size()
+     */
+    public void insert(int index, int element){
+        checkIndex(index, manyItems + 1);
+        insertNode(index, element);
+        if(isCurrent() && index <= cursorIndex){
+            cursorIndex++;
+        }
+    }
+
+    /**
+     * Remove the element at a given position. If it was the current element,
+     * the element after it (if any) becomes the current element.
+     * @param index - the position, from 0 to size()-1
+     * @return The element that was removed
+     * @exception IndexOutOfBoundsException
+     *   Indicates index is not a position of this sequence
+     */
+    public int removeAt(int index){
+        SkipNode x;
+        SkipNode target;
+        int pos;
+        int l;
+
+        checkIndex(index, manyItems);
+
+        // Find the last node before index on each level
+        x = head;
+        pos = -1;
+        for(l = levels - 1; l >= 0; l--){
+            while(x.next[l] != null && pos + x.width[l] < index){
+                pos += x.width[l];
+                x = x.next[l];
+            }
+            update[l] = x;
+        }
+        target = x.next[0];
+
+        // Unlink the target on its levels and shorten the links that jump over it
+        for(l = 0; l < levels; l++){
+            if(l < target.next.length){
+                update[l].width[l] += target.width[l] - 1;
+                update[l].next[l] = target.next[l];
+            }
+            else{
+                update[l].width[l]--;
+            }
+        }
+        for(l = levels; l < MAX_LEVEL; l++){
+            head.width[l]--;
+        }
+        releaseScratch(levels);
+        while(levels > 1 && head.next[levels - 1] == null){
+            levels--;
+        }
+        manyItems--;
+
+        // Keep the cursor on the same element, or on the next one if it was removed
+        if(isCurrent()){
+            if(cursor == target){
+                cursor = target.next[0];
+            }
+            else if(index < cursorIndex){
+                cursorIndex--;
+            }
+        }
+
+        return target.data;
+    }
+
+    /**
+     * Generate a copy of this sequence
+     * @return A copy of this sequence. Subsequent changes to the copy will not affect the original and vice versa.
+     */
+    @Override
+    public IntSkipSeq clone(){
+        IntSkipSeq answer;
+        SkipNode x;
+
+        try{
+            answer = (IntSkipSeq) super.clone();
+        }
+        catch(CloneNotSupportedException e){
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        // Rebuild the skip list by appending every element in order
+        answer.update = new SkipNode[MAX_LEVEL];
+        answer.rank = new int[MAX_LEVEL];
+        answer.head = new SkipNode(0, MAX_LEVEL);
+        for(int l = 0; l < MAX_LEVEL; l++){
+            answer.head.width[l] = 1;
+        }
+        answer.levels = 1;
+        answer.manyItems = 0;
+        for(x = head.next[0]; x != null; x = x.next[0]){
+            answer.insertNode(answer.manyItems, x.data);
+        }
+
+        answer.cursor = isCurrent() ? answer.findNode(cursorIndex) : null;
+        return answer;
+    }
+
+    /**
+     * Find the node at a given position
+     * @param index - a position from 0 to size()-1
+     * @return The node at that position
+     */
+    private SkipNode findNode(int index){
+        SkipNode x = head;
+        int pos = -1;
+
+        for(int l = levels - 1; l >= 0; l--){
+            while(x.next[l] != null && pos + x.width[l] <= index){
+                pos += x.width[l];
+                x = x.next[l];
+            }
+        }
+
+        return x;
+    }
+
+    /**
+     * Link a new node into the skip list without touching the cursor
+     * @param index - the position of the new element, from 0 to size()
+     * @param element - the new element
+     * @return The new node
+     */
+    private SkipNode insertNode(int index, int element){
+        SkipNode x;
+        SkipNode node;
+        int newLevels;
+        int pos;
+        int l;
+
+        // Find the last node before index on each level, and its position
+        x = head;
+        pos = -1;
+        for(l = levels - 1; l >= 0; l--){
+            while(x.next[l] != null && pos + x.width[l] < index){
+                pos += x.width[l];
+                x = x.next[l];
+            }
+            update[l] = x;
+            rank[l] = pos;
+        }
+
+        newLevels = randomLevels();
+        for(l = levels; l < newLevels; l++){
+            update[l] = head;
+            rank[l] = -1;
+        }
+        if(newLevels > levels){
+            levels = newLevels;
+        }
+
+        // Splice the node in and split the widths of the links it falls under
+        node = new SkipNode(element, newLevels);
+        for(l = 0; l < newLevels; l++){
+            node.next[l] = update[l].next[l];
+            node.width[l] = rank[l] + update[l].width[l] + 1 - index;
+            update[l].next[l] = node;
+            update[l].width[l] = index - rank[l];
+        }
+        for(l = newLevels; l < levels; l++){
+            update[l].width[l]++;
+        }
+        for(l = levels; l < MAX_LEVEL; l++){
+            head.width[l]++;
+        }
+        releaseScratch(levels);
+        manyItems++;
+
+        return node;
+    }
+
+    /**
+     * Drop the references left in the update scratch array, so it never keeps
+     * a removed node alive
+     * @param used - the number of levels that were filled in
+     */
+    private void releaseScratch(int used){
+        for(int l = 0; l < used; l++){
+            update[l] = null;
+        }
+    }
+
+    /**
+     * Choose the number of levels of a new node: k levels with probability
+     * 2^-k
+     */
+    private static int randomLevels(){
+        int bits = ThreadLocalRandom.current().nextInt();
+        int answer = Integer.numberOfTrailingZeros(bits) + 1;
+
+        return Math.min(answer, MAX_LEVEL);
+    }
+
+    private static void checkIndex(int index, int limit){
+        if(index < 0 || index >= limit){
+            throw new IndexOutOfBoundsException("index " + index + " is not in 0.." + (limit - 1));
+        }
+    }
+
+    /**
+     * A node of the skip list
+     */
+    private static class SkipNode {
+        int data;           // the element in this node
+        SkipNode next[];    // next[l] is the next node on level l
+        int width[];        // width[l] is the number of positions from this node to next[l]
+
+        SkipNode(int data, int manyLevels){
+            this.data = data;
+            next = new SkipNode[manyLevels];
+            width = new int[manyLevels];
+        }
+    }
+
+}
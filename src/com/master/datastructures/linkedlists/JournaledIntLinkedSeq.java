@@ -0,0 +1,536 @@
+package com.master.datastructures.linkedlists;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * An IntLinkedSeq whose changes survive a crash. The state lives in a
+ * directory holding a snapshot file and a journal file. Every cursor
+ * operation is applied to the sequence in memory and then appended to the
+ * journal, a memory-mapped file. Operations are grouped into batches, and each
+ * batch is committed with a CRC32 and a single force to disk. Opening the
+ * directory reads the snapshot and replays every committed batch. A batch that
+ * was only partly written when the process stopped fails its CRC and is
+ * ignored, along with everything after it.
+ *
+ * When the journal is full (or compact is called), the whole sequence is
+ * written to a new snapshot with IntNodeCodec and the journal is emptied. The
+ * snapshot and journal carry a generation number, so a journal that was
+ * already folded into the snapshot is never replayed twice.
+ *
+ * Limits: 1) Operations since the last commit are lost in a crash 2) Only
+ * one JournaledIntLinkedSeq may have a directory open at a time
+ *
+ * @author simon_000
+ */
+public class JournaledIntLinkedSeq implements IntSeq, AutoCloseable {
+
+    /**
+     * The number of operations in a batch, unless commit is called sooner
+     */
+    public static final int DEFAULT_GROUP_SIZE = 1024;
+
+    /**
+     * The size of the journal file, in bytes
+     */
+    public static final int DEFAULT_JOURNAL_BYTES = 64 << 20;
+
+    private static final String SNAPSHOT_NAME = "snapshot";
+    private static final String JOURNAL_NAME = "journal";
+    private static final int SNAPSHOT_MAGIC = 0x534E4150;  // "SNAP"
+    private static final int JOURNAL_MAGIC = 0x4A524E4C;   // "JRNL"
+    private static final int SNAPSHOT_HEADER = 16;  // [magic, generation (long), cursor index]
+    private static final int JOURNAL_HEADER = 16;   // [magic, generation (long), unused]
+    private static final int BATCH_HEADER = 8;      // [payload length, CRC32 of the payload]
+    private static final int MAX_OP_BYTES = 5;      // an opcode and an element
+
+    private static final byte ADD_BEFORE = 1;
+    private static final byte ADD_AFTER = 2;
+    private static final byte REMOVE_CURRENT = 3;
+    private static final byte ADVANCE = 4;
+    private static final byte START = 5;
+
+    private IntLinkedSeq seq;           // the sequence in memory
+    private int cursorIndex;            // the position of the current element, or -1 if there is none
+    private final Path directory;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final int groupSize;
+    private final CRC32 crc;
+    private FileChannel journalChannel; // null once closed
+    private MappedByteBuffer journal;   // positioned where the next operation goes
+    private long generation;            // the generation of the snapshot and of the journal
+    private int batchStart;             // offset of the open batch's header, or -1 if no batch is open
+    private int pendingOps;             // operations in the open batch
+
+    private JournaledIntLinkedSeq(Path directory, int groupSize) {
+        this.directory = directory;
+        this.snapshotPath = directory.resolve(SNAPSHOT_NAME);
+        this.journalPath = directory.resolve(JOURNAL_NAME);
+        this.groupSize = groupSize;
+        this.crc = new CRC32();
+        this.batchStart = -1;
+    }
+
+    /**
+     * Open the sequence kept in a directory, creating an empty one if the
+     * directory holds none, with the default group size and journal size
+     *
+     * @param directory - an existing directory
+     * @return The recovered sequence, with the current element it had when
+     * the last committed operation was made
+     * @exception IOException Indicates the files could not be read or written,
+     * or do not hold a valid snapshot and journal
+     */
+    public static JournaledIntLinkedSeq open(Path directory) throws IOException {
+        return open(directory, DEFAULT_GROUP_SIZE, DEFAULT_JOURNAL_BYTES);
+    }
+
+    /**
+     * Open the sequence kept in a directory, creating an empty one if the
+     * directory holds none
+     *
+     * @param directory - an existing directory
+     * @param groupSize - the number of operations committed together
+     * @param journalBytes - the size of the journal file; an existing larger
+     * journal keeps its size
+     * @return The recovered sequence, with the current element it had when
+     * the last committed operation was made
+     * @exception IllegalArgumentException Indicates groupSize is less than 1,
+     * or journalBytes has no room for a batch of groupSize operations
+     * @exception IOException Indicates the files could not be read or written,
+     * or do not hold a valid snapshot and journal
+     */
+    public static JournaledIntLinkedSeq open(Path directory, int groupSize, int journalBytes) throws IOException {
+        JournaledIntLinkedSeq answer;
+
+        if (directory == null) {
+            throw new IllegalArgumentException("directory is null");
+        }
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("groupSize must be at least 1: " + groupSize);
+        }
+        if ((long) journalBytes < JOURNAL_HEADER + BATCH_HEADER + (long) groupSize * MAX_OP_BYTES) {
+            throw new IllegalArgumentException("journalBytes is too small for a batch of " + groupSize + ": " + journalBytes);
+        }
+
+        answer = new JournaledIntLinkedSeq(directory, groupSize);
+        answer.readSnapshot();
+        answer.openJournal(journalBytes);
+        return answer;
+    }
+
+    @Override
+    public void addBefore(int element) {
+        perform(ADD_BEFORE, element);
+    }
+
+    @Override
+    public void addAfter(int element) {
+        perform(ADD_AFTER, element);
+    }
+
+    @Override
+    public void advance() {
+        perform(ADVANCE, 0);
+    }
+
+    @Override
+    public void removeCurrent() {
+        perform(REMOVE_CURRENT, 0);
+    }
+
+    @Override
+    public void start() {
+        perform(START, 0);
+    }
+
+    @Override
+    public int getCurrent() {
+        return seq.getCurrent();
+    }
+
+    /**
+     * Accessor method to determine the position of the current element Note:
+     * isCurrent must return true
+     *
+     * @return The position of the current element, where 0 is the first
+     */
+    public int getCurrentIndex() {
+        if (!isCurrent()) {
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+        return cursorIndex;
+    }
+
+    @Override
+    public boolean isCurrent() {
+        return seq.isCurrent();
+    }
+
+    @Override
+    public int size() {
+        return seq.size();
+    }
+
+    /**
+     * Copy the elements of this sequence into a new array, in order
+     *
+     * @return An array of length size() holding the elements of this sequence
+     */
+    public int[] toIntArray() {
+        return seq.toIntArray();
+    }
+
+    /**
+     * Make every operation so far durable, without waiting for the batch to
+     * fill
+     */
+    public void commit() {
+        ByteBuffer payload;
+        int end;
+
+        ensureOpen();
+        if (batchStart < 0) {
+            return;
+        }
+
+        end = journal.position();
+        payload = journal.duplicate();
+        payload.limit(end);
+        payload.position(batchStart + BATCH_HEADER);
+        crc.reset();
+        crc.update(payload);
+        journal.putInt(batchStart + 4, (int) crc.getValue());
+        journal.putInt(batchStart, end - batchStart - BATCH_HEADER);
+        journal.force();
+        batchStart = -1;
+        pendingOps = 0;
+    }
+
+    /**
+     * Write the whole sequence to a new snapshot and empty the journal. The
+     * open batch is committed first.
+     *
+     * @exception IOException Indicates the snapshot could not be written
+     */
+    public void compact() throws IOException {
+        Path temporary = snapshotPath.resolveSibling(SNAPSHOT_NAME + ".tmp");
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER);
+
+        commit();
+        header.putInt(SNAPSHOT_MAGIC);
+        header.putLong(generation + 1);
+        header.putInt(isCurrent() ? cursorIndex : -1);
+        header.flip();
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                out.write(header);
+            }
+            seq.writeTo(out, false);
+            out.force(true);
+        }
+        // Recovery relies on this order: the new snapshot is durable under its
+        // temporary name, then the rename is made durable by forcing the
+        // directory, and only then does the journal take the new generation.
+        // A crash before the rename is durable leaves the old snapshot with a
+        // journal of its own generation, which is replayed; a crash after it
+        // leaves a journal older than the snapshot, which is discarded. The
+        // journal is never newer than the snapshot on disk.
+        Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(directory);
+
+        // The snapshot now holds every operation in the journal
+        generation++;
+        resetJournal(journal.position());
+    }
+
+    /**
+     * Commit the open batch and close the journal. The sequence can no longer
+     * be changed.
+     *
+     * @exception IOException Indicates the journal could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (journalChannel == null) {
+            return;
+        }
+        commit();
+        journalChannel.close();
+        journalChannel = null;
+        journal = null;
+    }
+
+    /**
+     * Perform an operation on the sequence in memory and keep cursorIndex up
+     * to date
+     */
+    private void apply(byte op, int element) {
+        switch (op) {
+            case ADD_BEFORE:
+                if (!seq.isCurrent()) {
+                    cursorIndex = 0;
+                }
+                seq.addBefore(element);
+                break;
+            case ADD_AFTER:
+                cursorIndex = seq.isCurrent() ? cursorIndex + 1 : seq.size();
+                seq.addAfter(element);
+                break;
+            case REMOVE_CURRENT:
+                seq.removeCurrent();
+                if (!seq.isCurrent()) {
+                    cursorIndex = -1;
+                }
+                break;
+            case ADVANCE:
+                seq.advance();
+                cursorIndex = seq.isCurrent() ? cursorIndex + 1 : -1;
+                break;
+            case START:
+                seq.start();
+                cursorIndex = seq.isCurrent() ? 0 : -1;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown operation: " + op);
+        }
+    }
+
+    /**
+     * Perform an operation and add it to the open batch, committing the batch
+     * when it is full. If the journal has no room for the operation, it is
+     * compacted first, so the new snapshot does not yet hold the operation.
+     */
+    private void perform(byte op, int element) {
+        ensureOpen();
+        if (journal.remaining() < (batchStart < 0 ? BATCH_HEADER : 0) + MAX_OP_BYTES) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException("could not compact the journal", e);
+            }
+        }
+        apply(op, element);  // throws before anything is logged if the operation is not allowed
+        if (batchStart < 0) {
+            batchStart = journal.position();
+            journal.position(batchStart + BATCH_HEADER);
+        }
+
+        journal.put(op);
+        if (op == ADD_BEFORE || op == ADD_AFTER) {
+            journal.putInt(element);
+        }
+        if (++pendingOps == groupSize) {
+            commit();
+        }
+    }
+
+    private void readSnapshot() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SNAPSHOT_HEADER);
+        int index;
+
+        if (!Files.exists(snapshotPath)) {
+            seq = new IntLinkedSeq();
+            cursorIndex = -1;
+            generation = 0;
+            return;
+        }
+
+        try (FileChannel in = FileChannel.open(snapshotPath, StandardOpenOption.READ)) {
+            while (header.hasRemaining()) {
+                if (in.read(header) < 0) {
+                    throw new EOFException("the snapshot ended inside its header");
+                }
+            }
+            header.flip();
+            if (header.getInt() != SNAPSHOT_MAGIC) {
+                throw new StreamCorruptedException("not a snapshot: " + snapshotPath);
+            }
+            generation = header.getLong();
+            index = header.getInt();
+            seq = IntLinkedSeq.readFrom(in);
+        }
+        if (index >= seq.size()) {
+            throw new StreamCorruptedException("the snapshot's cursor is past its end: " + index);
+        }
+
+        // Put the cursor back where it was
+        cursorIndex = index;
+        if (index >= 0) {
+            seq.start();
+            for (int i = 0; i < index; i++) {
+                seq.advance();
+            }
+        }
+    }
+
+    private void openJournal(int journalBytes) throws IOException {
+        long journalGeneration;
+        int length;
+        int position;
+
+        journalChannel = FileChannel.open(journalPath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            if (journalChannel.size() > Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("the journal is too large: " + journalChannel.size());
+            }
+            journal = journalChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(journalBytes, journalChannel.size()));
+
+            if (journal.getInt(0) != JOURNAL_MAGIC) {  // a new journal
+                journal.putLong(4, generation);
+                journal.putInt(0, JOURNAL_MAGIC);
+                journal.force();
+                journal.position(JOURNAL_HEADER);
+                return;
+            }
+
+            journalGeneration = journal.getLong(4);
+            if (journalGeneration > generation) {
+                throw new StreamCorruptedException("the journal is newer than the snapshot");
+            }
+            if (journalGeneration < generation) {  // already folded into the snapshot
+                resetJournal(journal.limit());
+                return;
+            }
+
+            // Replay every committed batch
+            position = JOURNAL_HEADER;
+            while (position + BATCH_HEADER <= journal.limit()) {
+                length = journal.getInt(position);
+                if (length <= 0 || length > journal.limit() - position - BATCH_HEADER
+                        || !checkBatch(position, length)) {
+                    break;
+                }
+                replay(position + BATCH_HEADER, position + BATCH_HEADER + length);
+                position += BATCH_HEADER + length;
+            }
+
+            // Clear whatever a crash left after the last committed batch. An
+            // uncommitted batch still has a zero header, so every byte is checked.
+            journal.position(position);
+            if (clear(position, journal.limit())) {
+                journal.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            journalChannel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Force the entries of a directory to disk, so a rename in it survives a
+     * power failure. Platforms that cannot open a directory as a channel (such
+     * as Windows) give Java no way to do this, so there it is skipped.
+     *
+     * @exception IOException Indicates the directory could not be forced
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (FileChannel d = channel) {
+            d.force(true);
+        }
+    }
+
+    private boolean checkBatch(int position, int length) {
+        ByteBuffer payload = journal.duplicate();
+
+        payload.limit(position + BATCH_HEADER + length);
+        payload.position(position + BATCH_HEADER);
+        crc.reset();
+        crc.update(payload);
+        return (int) crc.getValue() == journal.getInt(position + 4);
+    }
+
+    private void replay(int from, int to) throws StreamCorruptedException {
+        byte op;
+        int element;
+        int i = from;
+
+        while (i < to) {
+            op = journal.get(i++);
+            element = 0;
+            if (op == ADD_BEFORE || op == ADD_AFTER) {
+                if (to - i < 4) {
+                    throw new StreamCorruptedException("an operation is cut off at offset " + i);
+                }
+                element = journal.getInt(i);
+                i += 4;
+            } else if (op < REMOVE_CURRENT || op > START) {
+                throw new StreamCorruptedException("unknown operation " + op + " at offset " + (i - 1));
+            }
+            try {
+                apply(op, element);
+            } catch (IllegalStateException e) {
+                throw new StreamCorruptedException("the journal removes with no current element at offset " + (i - 1));
+            }
+        }
+    }
+
+    /**
+     * Empty the journal and give it the current generation
+     *
+     * @param end - the offset past which the journal is known to hold zeros
+     */
+    private void resetJournal(int end) {
+        clear(JOURNAL_HEADER, end);
+        journal.force();
+        journal.putLong(4, generation);
+        journal.force();
+        journal.position(JOURNAL_HEADER);
+        batchStart = -1;
+        pendingOps = 0;
+    }
+
+    /**
+     * Zero part of the journal, writing only the bytes that are not zero
+     * already, so the untouched end of the file is not dirtied
+     *
+     * @return True if any byte was changed
+     */
+    private boolean clear(int from, int to) {
+        boolean changed = false;
+        int i = from;
+
+        while (i + 8 <= to) {
+            if (journal.getLong(i) != 0) {
+                journal.putLong(i, 0L);
+                changed = true;
+            }
+            i += 8;
+        }
+        while (i < to) {
+            if (journal.get(i) != 0) {
+                journal.put(i, (byte) 0);
+                changed = true;
+            }
+            i++;
+        }
+        return changed;
+    }
+
+    private void ensureOpen() {
+        if (journalChannel == null) {
+            throw new IllegalStateException("the sequence is closed");
+        }
+    }
+}
@@ -1,6 +1,12 @@
 
 package com.master.datastructures.linkedlists;
 
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Node data structure specification Creates a linked lists for any data type
  *
@@ -34,6 +40,17 @@ public class Node<E> {
         link = new Node(element, link);
     }
 
+    /**
+     * Modification method to add a new node after this node, taking the node
+     * from a pool
+     *
+     * @param element - the data to be placed in the new node
+     * @param pool - the pool to take the node from, or null to make a new node
+     */
+    public void addNodeAfter(E element, NodePool<E> pool) {
+        link = (pool == null) ? new Node<>(element, link) : pool.allocate(element, link);
+    }
+
     public E getData() {
         return (E) data;
     }
@@ -232,6 +249,22 @@ public class Node<E> {
         link = link.link;
     }
 
+    /**
+     * Modification method to remove the node after this node and give it back
+     * to a pool Note: This node must not be the tail node of the list
+     *
+     * @param pool - the pool that takes the removed node, or null to leave it
+     * to the garbage collector
+     */
+    public void removeNodeAfter(NodePool<E> pool) {
+        Node<E> removed = link;
+
+        link = removed.link;
+        if (pool != null) {
+            pool.release(removed);
+        }
+    }
+
     /**
      * Modify the data of this node
      *
@@ -252,4 +285,155 @@ public class Node<E> {
     
     // =========================================================================
     
+    /**
+     * Create a stream of the elements of a list, in order. A parallel stream
+     * splits the list into growing batches (see NodeSpliterator).
+     * Note: the list must not change while the stream is used
+     * @param <E>
+     * @param head - The first node of the list (which may be null)
+     * @param parallel - true for a parallel stream
+     * @return A stream of the data of each node of the list
+     */
+    public static <E> Stream<E> listStream(Node<E> head, boolean parallel){
+        return StreamSupport.stream(new NodeSpliterator<E>(head), parallel);
+    }
+    
+    /**
+     * Remove every node whose data already appeared earlier in the list, so
+     * that the first occurrence of each value is kept. Elements are compared
+     * with equals, and the elements seen so far are kept in a hash set, so the
+     * list is scanned once.
+     * @param <E>
+     * @param head - The first node of the list (which may be null)
+     */
+    public static <E> void removeDuplicates(Node<E> head){
+        Set<E> seen;
+        Node<E> previous;
+        
+        if(head == null){
+            return;
+        }
+        
+        seen = new HashSet<>();
+        seen.add(head.data);
+        previous = head;
+        while(previous.link != null){
+            if(seen.add(previous.link.data)){
+                previous = previous.link;
+            }
+            else{
+                previous.removeNodeAfter();  // a duplicate, so unlink it
+            }
+        }
+    }
+    
+    /**
+     * Sort a list with a natural bottom-up merge sort. Runs that are already in
+     * order (or in strictly decreasing order) are found first and then merged
+     * pairwise; the nodes are relinked, never copied, and equal elements keep
+     * their original order.
+     * @param <E>
+     * @param head - The first node of the list (which may be null)
+     * @param comparator - the ordering of the elements, or null to use their
+     *        natural ordering (the elements must then be Comparable)
+     * @return The head reference of the sorted list, which is made of the same
+     *         nodes as the original list
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> Node<E> listSort(Node<E> head, Comparator<? super E> comparator){
+        Node<E> pending[] = (Node<E>[]) new Node<?>[MERGE_LEVELS];  // pending[i] is a sorted list made of 2^i runs (or null)
+        Node<E> run;
+        Node<E> runTail;
+        Node<E> rest;
+        Node<E> sorted;
+        int i;
+        
+        if(comparator == null){
+            comparator = (Comparator<? super E>) Comparator.naturalOrder();
+        }
+        
+        while(head != null){
+            // Cut the next natural run off the front of the list
+            runTail = head;
+            if(head.link != null && comparator.compare(head.link.data, head.data) < 0){
+                // A strictly decreasing run is reversed as it is cut off
+                run = head;
+                rest = head.link;
+                run.link = null;
+                while(rest != null && comparator.compare(rest.data, run.data) < 0){
+                    head = rest.link;
+                    rest.link = run;
+                    run = rest;
+                    rest = head;
+                }
+                head = rest;
+            }
+            else{
+                while(runTail.link != null && comparator.compare(runTail.link.data, runTail.data) >= 0){
+                    runTail = runTail.link;
+                }
+                run = head;
+                head = runTail.link;
+                runTail.link = null;
+            }
+            
+            // Carry the run up through the pending lists like a binary counter
+            for(i = 0; pending[i] != null; i++){
+                run = merge(pending[i], run, comparator);
+                pending[i] = null;
+            }
+            pending[i] = run;
+        }
+        
+        // Merge what is left, from the newest (lowest) level to the oldest
+        sorted = null;
+        for(i = 0; i < MERGE_LEVELS; i++){
+            if(pending[i] != null){
+                sorted = (sorted == null) ? pending[i] : merge(pending[i], sorted, comparator);
+            }
+        }
+        
+        return sorted;
+    }
+    
+    private static final int MERGE_LEVELS = 64;  // enough pending levels for any number of runs
+    
+    /**
+     * Merge two sorted lists by relinking their nodes
+     * @param first - a non-empty sorted list whose elements came earlier
+     * @param second - a non-empty sorted list whose elements came later
+     * @param comparator - the ordering of the elements
+     * @return The head of the merged list. Equal elements from first stay in
+     *         front of those from second.
+     */
+    private static <E> Node<E> merge(Node<E> first, Node<E> second, Comparator<? super E> comparator){
+        Node<E> answer;
+        Node<E> tail;
+        
+        if(comparator.compare(second.data, first.data) < 0){
+            answer = second;
+            second = second.link;
+        }
+        else{
+            answer = first;
+            first = first.link;
+        }
+        
+        tail = answer;
+        while(first != null && second != null){
+            if(comparator.compare(second.data, first.data) < 0){
+                tail.link = second;
+                second = second.link;
+            }
+            else{
+                tail.link = first;
+                first = first.link;
+            }
+            tail = tail.link;
+        }
+        tail.link = (first != null) ? first : second;
+        
+        return answer;
+    }
+    
 }
@@ -0,0 +1,158 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * A free list of Nodes, the generic counterpart of IntNodePool. A node given
+ * back to the pool has its data set to null, so the pool never keeps an
+ * element alive.
+ *
+ * Limits: 1) A pool is not thread-safe: share one only between structures
+ * used by the same thread, or use forCurrentThread 2) A node given back to
+ * the pool must not be referenced by anything else
+ *
+ * @param <E> the type of the elements of the nodes
+ * @author simon_000
+ */
+public final class NodePool<E> {
+
+    /**
+     * The number of nodes kept by the pools of forCurrentThread
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final ThreadLocal<NodePool<?>> PER_THREAD
+            = ThreadLocal.withInitial(() -> new NodePool<>(DEFAULT_MAX_SIZE));
+
+    private final int maxSize;
+    private Node<E> free;   // the first free node, linked through the link field
+    private int size;       // the number of free nodes
+    private long hits;      // allocations served from the free list
+    private long misses;    // allocations that made a new node
+    private long discards;  // nodes given back to a full pool
+
+    /**
+     * Initialize an empty pool
+     *
+     * @param maxSize - the largest number of free nodes the pool keeps
+     * @exception IllegalArgumentException Indicates maxSize is negative
+     */
+    public NodePool(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize is negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Get the pool that belongs to the calling thread, with room for
+     * DEFAULT_MAX_SIZE nodes. The pool is shared by every element type, which
+     * is safe because free nodes hold no data.
+     *
+     * @param <E> the type of the elements of the nodes
+     * @return The pool of the calling thread
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> NodePool<E> forCurrentThread() {
+        return (NodePool<E>) PER_THREAD.get();
+    }
+
+    /**
+     * Get a node, reusing a free node when there is one
+     *
+     * @param data - the data of the node
+     * @param link - the node after it, or null
+     * @return A node holding data and link
+     */
+    public Node<E> allocate(E data, Node<E> link) {
+        Node<E> answer = free;
+
+        if (answer == null) {
+            misses++;
+            return new Node<>(data, link);
+        }
+        hits++;
+        free = answer.link;
+        size--;
+        answer.setData(data);
+        answer.link = link;
+        return answer;
+    }
+
+    /**
+     * Give back a node that is no longer in any list
+     *
+     * @param node - the node, which must not be used again
+     */
+    public void release(Node<E> node) {
+        if (size == maxSize) {
+            discards++;
+            return;
+        }
+        node.setData(null);
+        node.link = free;
+        free = node;
+        size++;
+    }
+
+    /**
+     * Drop every free node
+     */
+    public void clear() {
+        free = null;
+        size = 0;
+    }
+
+    /**
+     * Reset the hit, miss and discard counts to zero
+     */
+    public void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        discards = 0;
+    }
+
+    /**
+     * Determine the number of free nodes in this pool
+     *
+     * @return The number of free nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Determine the number of allocations served by a free node
+     *
+     * @return The number of hits since the last resetStatistics
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Determine the number of allocations that made a new node
+     *
+     * @return The number of misses since the last resetStatistics
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Determine the number of nodes given back while the pool was full
+     *
+     * @return The number of discards since the last resetStatistics
+     */
+    public long getDiscards() {
+        return discards;
+    }
+
+    @Override
+    public String toString() {
+        return "NodePool[size=" + size + ", maxSize=" + maxSize + ", hits=" + hits
+                + ", misses=" + misses + ", discards=" + discards + "]";
+    }
+}
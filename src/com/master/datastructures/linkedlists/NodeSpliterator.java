@@ -0,0 +1,126 @@
+package com.master.datastructures.linkedlists;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator over a chain of Nodes. A linked list cannot be cut in half
+ * without walking it, so trySplit copies a batch of elements from the front of
+ * the chain into an array and hands that array off as the split part. Each
+ * batch is larger than the one before, so a long chain is split into a few
+ * large arrays that other threads can in turn split evenly. The chain must not
+ * change while the spliterator is in use.
+ *
+ * @param <E> the type of the elements in the chain
+ * @author simon_000
+ */
+public class NodeSpliterator<E> implements Spliterator<E> {
+
+    private static final int BATCH_UNIT = 1 << 10;  // the size of the first batch
+    private static final int MAX_BATCH = 1 << 25;   // the largest batch
+
+    private Node<E> current;    // the next node to visit (or null)
+    private long remaining;     // the number of nodes left, or -1 if it is not known
+    private int batch;          // the size of the last batch split off
+    private final int characteristics;
+
+    /**
+     * Create a spliterator over a chain whose length is not known
+     *
+     * @param head - the head reference of the chain (which may be null)
+     */
+    public NodeSpliterator(Node<E> head) {
+        this(head, -1, 0);
+    }
+
+    /**
+     * Create a spliterator over a chain of known length
+     *
+     * @param head - the head reference of the chain (which may be null)
+     * @param size - the number of nodes in the chain, or -1 if it is not known
+     * @param additionalCharacteristics - characteristics to report besides
+     * ORDERED, and SIZED when the size is known
+     */
+    public NodeSpliterator(Node<E> head, long size, int additionalCharacteristics) {
+        current = head;
+        remaining = size;
+        batch = 0;
+        characteristics = Spliterator.ORDERED | additionalCharacteristics
+                | (size >= 0 ? Spliterator.SIZED : 0);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("action is null");
+        }
+        if (current == null) {
+            return false;
+        }
+
+        action.accept(current.getData());
+        current = current.link;
+        if (remaining > 0) {
+            remaining--;
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        Node<E> cursor;
+
+        if (action == null) {
+            throw new NullPointerException("action is null");
+        }
+        cursor = current;
+        current = null;
+        if (remaining > 0) {
+            remaining = 0;
+        }
+        for (; cursor != null; cursor = cursor.link) {
+            action.accept(cursor.getData());
+        }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        Object answer[];
+        int n;
+
+        if (current == null || remaining == 1) {
+            return null;
+        }
+
+        n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+        if (remaining > 0 && n > remaining) {
+            n = (int) remaining;
+        }
+        answer = new Object[n];
+        n = 0;
+        do {
+            answer[n++] = current.getData();
+            current = current.link;
+        } while (n < answer.length && current != null);
+        batch = n;
+        if (remaining > 0) {
+            remaining -= n;
+        }
+
+        return Spliterators.spliterator(answer, 0, n, characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        if (remaining >= 0) {
+            return remaining;
+        }
+        return (current == null) ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
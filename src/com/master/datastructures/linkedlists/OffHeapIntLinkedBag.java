@@ -0,0 +1,242 @@
+/**
+ * Invariant of the OffHeapIntLinkedBag ADT 1. The elements in the bag are
+ * stored in a linked list of arena nodes 2. The handle of the head node is
+ * stored in the instance variable head 3. The total number of elements in the
+ * list is stored in the instance variable manyNodes
+ */
+package com.master.datastructures.linkedlists;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A collection of integer numbers with the same operations as IntLinkedBag,
+ * whose nodes live in an IntNodeArena outside the Java heap. Call close when
+ * the bag is no longer needed so its nodes can be reused or released. Limits:
+ * 1) Beyond IntNodeArena.MAX_NODES elements, add fails with OutOfMemoryError 2)
+ * The slow linear algorithms of this class cause large bags to have poor
+ * performance
+ *
+ * @author simon_000
+ */
+public class OffHeapIntLinkedBag implements Cloneable, AutoCloseable {
+
+    private static final int NULL = IntNodeArena.NULL;
+    private static final int DEFAULT_NODES = 1024;  // initial room of an arena made by this class
+
+    private IntNodeArena arena; // where the nodes are stored
+    private boolean ownsArena;  // true if close should close the arena as well
+    private int head;           // Handle of the head node of the list
+    private int manyNodes;      // Number of nodes in the list
+
+    /**
+     * Initialize an empty bag with an arena of its own
+     */
+    public OffHeapIntLinkedBag() {
+        this(new IntNodeArena(DEFAULT_NODES));
+        ownsArena = true;
+    }
+
+    /**
+     * Initialize an empty bag whose nodes are taken from a shared arena.
+     * Closing the bag frees its nodes but leaves the arena open.
+     *
+     * @param arena - the arena that stores the nodes
+     */
+    public OffHeapIntLinkedBag(IntNodeArena arena) {
+        if (arena == null) {
+            throw new NullPointerException("arena is null");
+        }
+        this.arena = arena;
+        ownsArena = false;
+        head = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Add a new element to this bag
+     *
+     * @param element - the new element that is being added
+     */
+    public void add(int element) {
+        head = arena.allocate(element, head);
+        manyNodes++;
+    }
+
+    /**
+     * Add the contents of another bag to this bag
+     *
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    public void addAll(OffHeapIntLinkedBag addend) {
+        int node;
+        int count;
+
+        // Check for illegal null reference at addend
+        if (addend == null) {
+            throw new NullPointerException("addend is null");
+        }
+
+        // Push a copy of each node; count them so that b.addAll(b) stops in time
+        node = addend.head;
+        for (count = addend.manyNodes; count > 0; count--) {
+            add(addend.arena.getData(node));
+            node = addend.arena.getLink(node);
+        }
+    }
+
+    /**
+     * Add a variable number of new elements to this bag.
+     *
+     * @param elements - a variable number of new elements that are all being
+     * added
+     */
+    public void addMany(int... elements) {
+        // Activate the ordinary add method for each integer in the elements array
+        for (int i : elements) {
+            add(i);
+        }
+    }
+
+    /**
+     * Generate a copy of this bag. The copy takes its nodes from the same arena
+     * and does not own it, so closing the copy never closes the original's
+     * arena.
+     *
+     * @return A copy of this bag. Subsequent changes to the copy will not
+     * affect the original, nor vice versa.
+     */
+    @Override
+    public OffHeapIntLinkedBag clone() {
+        OffHeapIntLinkedBag answer;
+        int copy[];
+
+        try {
+            answer = (OffHeapIntLinkedBag) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        answer.ownsArena = false;
+        copy = arena.listCopyWithTail(head);
+        answer.head = (copy == null) ? NULL : copy[0];
+        return answer;
+    }
+
+    /**
+     * Accessor method to count the number of occurrences of a particular
+     * element in this bag.
+     *
+     * @param target - the element that needs to be counted
+     * @return The number of times that target occurs in this bag
+     */
+    public int countOccurrences(int target) {
+        int node;
+        int answer;
+
+        answer = 0;
+        for (node = head; node != NULL; node = arena.getLink(node)) {
+            if (arena.getData(node) == target) {
+                answer++;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Accessor method to retrieve a random element from this bag Note: This bag
+     * cannot be empty
+     *
+     * @return A randomly selected element from this bag
+     */
+    public int grab() {
+        int node;
+        int i;  // A random value between 0 and the size of the bag - 1
+
+        if (manyNodes == 0) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+
+        i = ThreadLocalRandom.current().nextInt(manyNodes);
+        for (node = head; i > 0; i--) {
+            node = arena.getLink(node);
+        }
+
+        return arena.getData(node);
+    }
+
+    /**
+     * Remove one copy of a specified element from this bag
+     *
+     * @param target - the element to remove from this bag
+     * @return True if the element has been removed, else false
+     */
+    public boolean remove(int target) {
+        int node;
+        int oldHead;
+
+        for (node = head; node != NULL; node = arena.getLink(node)) {
+            if (arena.getData(node) == target) {
+                // Copy the head data to the target node and then free the old head
+                arena.setData(node, arena.getData(head));
+                oldHead = head;
+                head = arena.getLink(head);
+                arena.free(oldHead);
+                manyNodes--;
+                return true;
+            }
+        }
+
+        // The target was not found, so nothing is removed
+        return false;
+    }
+
+    /**
+     * Accessor method to determine the number of elements in this bag
+     *
+     * @return The number of elements in this bag
+     */
+    public int size() {
+        return manyNodes;
+    }
+
+    /**
+     * Free every node of this bag, leaving it empty. If the bag made its own
+     * arena, the arena is closed as well and the bag (and any clone of it)
+     * cannot be used again.
+     */
+    @Override
+    public void close() {
+        if (ownsArena) {
+            arena.close();
+        } else if (!arena.isClosed()) {
+            arena.freeChain(head);
+        }
+        head = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Create a new bag that contains all the elements from the two other bags
+     *
+     * @param b1 - the first of two bags
+     * @param b2 - the second of two bags
+     * @return A new bag with an arena of its own that is the union of b1 and b2
+     */
+    public static OffHeapIntLinkedBag union(OffHeapIntLinkedBag b1, OffHeapIntLinkedBag b2) {
+        OffHeapIntLinkedBag answer;
+
+        // Check for null reference in b1 and b2
+        if (b1 == null) {
+            throw new NullPointerException("b1 is null");
+        }
+        if (b2 == null) {
+            throw new NullPointerException("b2 is null");
+        }
+
+        answer = new OffHeapIntLinkedBag();
+        answer.addAll(b1);
+        answer.addAll(b2);
+        return answer;
+    }
+}
@@ -0,0 +1,264 @@
+package com.master.datastructures.linkedlists;
+
+/**
+ * A sequence of integers with the same cursor operations as IntLinkedSeq,
+ * whose nodes live in an IntNodeArena outside the Java heap. Call close when
+ * the sequence is no longer needed so its nodes can be reused or released.
+ *
+ * @author simon_000
+ */
+public class OffHeapIntLinkedSeq implements IntSeq, AutoCloseable {
+    /**
+     * Invariant of the OffHeapIntLinkedSeq class:
+     *      1. The elements in the sequence are stored in a linked list of
+     *         arena nodes, identified by int handles.
+     *      2. The first node of the list is in the instance variable head and
+     *         the last node is in the instance variable tail.
+     *      3. The current element is in the node cursor, or cursor is NULL if
+     *         there is no current element.
+     *      4. If cursor is not the head, precursor is the node just before it;
+     *         otherwise precursor is NULL.
+     *      5. The total number of elements in the list is in the instance
+     *         variable manyNodes.
+     */
+
+    private static final int NULL = IntNodeArena.NULL;
+    private static final int DEFAULT_NODES = 1024;  // initial room of an arena made by this class
+
+    private final IntNodeArena arena;   // where the nodes are stored
+    private final boolean ownsArena;    // true if close should close the arena as well
+    private int manyNodes;  // keeps track of the number of nodes in the list
+    private int head;       // handle of the first node
+    private int tail;       // handle of the last node
+    private int cursor;     // handle of the node with the current element (or NULL)
+    private int precursor;  // handle of the node before the current element (or NULL)
+
+    /**
+     * Initialize an empty sequence with an arena of its own
+     */
+    public OffHeapIntLinkedSeq() {
+        this(new IntNodeArena(DEFAULT_NODES), true);
+    }
+
+    /**
+     * Initialize an empty sequence whose nodes are taken from a shared arena.
+     * Closing the sequence frees its nodes but leaves the arena open.
+     *
+     * @param arena - the arena that stores the nodes
+     */
+    public OffHeapIntLinkedSeq(IntNodeArena arena) {
+        this(arena, false);
+    }
+
+    private OffHeapIntLinkedSeq(IntNodeArena arena, boolean ownsArena) {
+        if(arena == null){
+            throw new NullPointerException("arena is null");
+        }
+        this.arena = arena;
+        this.ownsArena = ownsArena;
+        head = NULL;
+        tail = NULL;
+        cursor = NULL;
+        precursor = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Adds a new element to this sequence before the current element. If there
+     * is no current element, the new element is placed at the front of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addBefore(int element) {
+        if(!isCurrent() || cursor == head){  // the new node becomes the head
+            head = arena.allocate(element, head);
+            if(tail == NULL){
+                tail = head;
+            }
+            cursor = head;
+            precursor = NULL;
+        }
+        else{  // insert between precursor and cursor
+            cursor = arena.allocate(element, cursor);
+            arena.setLink(precursor, cursor);
+        }
+
+        manyNodes++;  // update the invariant
+    }
+
+    /**
+     * Adds a new element to this sequence after the current element. If there
+     * is no current element, the new element is placed at the end of the
+     * sequence. The new element becomes the current element.
+     *
+     * @param element - the new element that is being added
+     */
+    public void addAfter(int element) {
+        int node;
+
+        if(isCurrent()){
+            node = arena.allocate(element, arena.getLink(cursor));
+            arena.setLink(cursor, node);
+            if(cursor == tail){
+                tail = node;
+            }
+            precursor = cursor;
+            cursor = node;
+        }
+        else{
+            node = arena.allocate(element, NULL);
+            if(tail == NULL){
+                head = node;
+                precursor = NULL;
+            }
+            else{
+                arena.setLink(tail, node);
+                precursor = tail;
+            }
+            tail = node;
+            cursor = node;
+        }
+
+        manyNodes++;  // update the invariant
+    }
+
+    /**
+     * Place the contents of another sequence at the end of this sequence. The
+     * current element does not change.
+     * @param addend - A sequence that will be placed at the end of this sequence
+     */
+    public void addAll(OffHeapIntLinkedSeq addend){
+        int node;
+        int last;
+
+        if(addend == null){
+            throw new IllegalArgumentException("addend is null");
+        }
+
+        // Copy node by node, since the addend may use a different arena
+        last = addend.tail;
+        for(node = addend.head; node != NULL; node = addend.arena.getLink(node)){
+            appendNode(addend.arena.getData(node));
+            if(node == last){  // stop here in case addend is this sequence
+                break;
+            }
+        }
+    }
+
+    /**
+     * Determine the number of elements in this sequence
+     * @return The number of elements in this sequence
+     */
+    public int size() {
+        return manyNodes;
+    }
+
+    /**
+     * Accessor method to determine whether this sequence has a specified
+     * current element that can be retrieved with the getCurrent method
+     *
+     * @return True if there is a current element, otherwise false
+     */
+    public boolean isCurrent() {
+        return cursor != NULL;
+    }
+
+    /**
+     * Accessor method to determine the current element of the sequence Note:
+     * isCurrent must return true
+     *
+     * @return The current element of the sequence
+     */
+    public int getCurrent() {
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null: there is no current element");
+        }
+
+        return arena.getData(cursor);
+    }
+
+    /**
+     * Move forward, so that the current element is now the next element in this sequence
+     * Note: if there is no current element, nothing happens
+     */
+    public void advance() {
+        if(isCurrent()){
+            precursor = cursor;
+            cursor = arena.getLink(cursor);
+        }
+    }
+
+    /**
+     * Remove the current element from this sequence. The element after it, if
+     * any, becomes the current element.
+     * Note: if there is no current element, removeCurrent must not be called
+     */
+    public void removeCurrent(){
+        int removed = cursor;
+
+        if(!isCurrent()){
+            throw new IllegalStateException("isCurrent() is null");
+        }
+
+        cursor = arena.getLink(removed);
+        if(removed == head){
+            head = cursor;
+        }
+        else{
+            arena.setLink(precursor, cursor);
+        }
+        if(removed == tail){
+            tail = precursor;
+        }
+
+        arena.free(removed);
+        manyNodes--;  // update invariant
+    }
+
+    /**
+     * Set the current element at the front of this sequence
+     */
+    public void start(){
+        cursor = head;
+        precursor = NULL;
+    }
+
+    /**
+     * Free every node of this sequence, leaving it empty. If the sequence made
+     * its own arena, the arena is closed as well and the sequence cannot be
+     * used again.
+     */
+    @Override
+    public void close(){
+        if(ownsArena){
+            arena.close();
+        }
+        else if(!arena.isClosed()){
+            arena.freeChain(head);
+        }
+        head = NULL;
+        tail = NULL;
+        cursor = NULL;
+        precursor = NULL;
+        manyNodes = 0;
+    }
+
+    /**
+     * Add a new node at the end of the list without moving the cursor
+     * @param element - the data of the new node
+     */
+    private void appendNode(int element){
+        int node = arena.allocate(element, NULL);
+
+        if(tail == NULL){
+            head = node;
+        }
+        else{
+            arena.setLink(tail, node);
+        }
+        tail = node;
+        manyNodes++;
+    }
+
+}
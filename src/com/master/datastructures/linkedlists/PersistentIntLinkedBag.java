@@ -0,0 +1,264 @@
+/**
+ * Invariant of the PersistentIntLinkedBag ADT 1. The elements in the bag are
+ * stored in a linked list of immutable nodes 2. The head reference of the list
+ * is stored in the instance variable head 3. The total number of elements in
+ * the list is stored in the instance variable manyNodes 4. Every node is
+ * stamped with the owner token of the bag that created it, and a bag takes a
+ * new token whenever its nodes become shared with another bag 5. A node
+ * stamped with a bag's current token is reachable from that bag only, and
+ * such nodes form a prefix of its list; only these nodes are ever changed,
+ * so every other part of a list may be shared by other bags
+ */
+package com.master.datastructures.linkedlists;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A collection of integer numbers with the operations of IntLinkedBag, whose
+ * nodes are never modified once created. Bags share nodes freely: clone takes
+ * constant time, union and addAll copy only the smaller of the two lists and
+ * link it onto the larger one, and remove copies only the shared nodes in
+ * front of the removed element; nodes that no other bag can reach are changed
+ * in place. A snapshot therefore costs memory only for what changes after it
+ * is taken, and a bag that is never shared removes without allocating. Limits: 1) Beyond Int.MAX_VALUE elements,
+ * countOccurrences, size and grab are wrong 2) The slow linear algorithms of
+ * this class cause large bags to have poor performance
+ *
+ * @author simon_000
+ */
+public class PersistentIntLinkedBag implements Cloneable {
+
+    private PersistentNode head;    // Head reference for the list
+    private int manyNodes;          // Number of nodes in the list
+    private Object owner;           // Stamp of the nodes that only this bag can reach
+
+    /**
+     * Initialize an empty bag
+     */
+    public PersistentIntLinkedBag() {
+        head = null;
+        manyNodes = 0;
+        owner = new Object();
+    }
+
+    /**
+     * Add a new element to this bag
+     *
+     * @param element - the new element that is being added
+     */
+    public void add(int element) {
+        head = new PersistentNode(element, head, owner);
+        manyNodes++;
+    }
+
+    /**
+     * Add the contents of another bag to this bag. The smaller of the two lists
+     * is copied onto the front of the larger one, whose nodes are shared.
+     *
+     * @param addend - a bag whose contents will be added to this bag
+     */
+    public void addAll(PersistentIntLinkedBag addend) {
+        // Check for illegal null reference at addend
+        if (addend == null) {
+            throw new NullPointerException("addend is null");
+        }
+
+        if (manyNodes < addend.manyNodes) {
+            head = pushAll(head, null, addend.head, owner);
+            addend.owner = new Object();    // its nodes are now shared with this bag
+        } else {
+            head = pushAll(addend.head, null, head, owner);
+        }
+        manyNodes += addend.manyNodes;
+    }
+
+    /**
+     * Add a variable number of new elements to this bag.
+     *
+     * @param elements - a variable number of new elements that are all being
+     * added
+     */
+    public void addMany(int... elements) {
+        // Activate the ordinary add method for each integer in the elements array
+        for (int i : elements) {
+            add(i);
+        }
+    }
+
+    /**
+     * Generate a copy of this bag in constant time. The copy shares every node
+     * with this bag.
+     *
+     * @return A copy of this bag. Subsequent changes to the copy will not
+     * affect the original, nor vice versa.
+     */
+    @Override
+    public PersistentIntLinkedBag clone() {
+        PersistentIntLinkedBag answer;
+
+        try {
+            answer = (PersistentIntLinkedBag) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("This class does not implement Cloneable.");
+        }
+
+        // Every node is now shared, so neither bag may change the existing nodes
+        owner = new Object();
+        answer.owner = new Object();
+        return answer;
+    }
+
+    /**
+     * Accessor method to count the number of occurrences of a particular
+     * element in this bag.
+     *
+     * @param target - the element that needs to be counted
+     * @return The number of times that target occurs in this bag
+     */
+    public int countOccurrences(int target) {
+        PersistentNode cursor;
+        int answer;
+
+        answer = 0;
+        for (cursor = head; cursor != null; cursor = cursor.link) {
+            if (cursor.data == target) {
+                answer++;
+            }
+        }
+
+        return answer;
+    }
+
+    /**
+     * Accessor method to retrieve a random element from this bag Note: This bag
+     * cannot be empty
+     *
+     * @return A randomly selected element from this bag
+     */
+    public int grab() {
+        PersistentNode cursor;
+        int i;  // A random value between 0 and the size of the bag - 1
+
+        if (manyNodes == 0) {
+            throw new IllegalStateException("Bag size is zero.");
+        }
+
+        i = ThreadLocalRandom.current().nextInt(manyNodes);
+        for (cursor = head; i > 0; i--) {
+            cursor = cursor.link;
+        }
+
+        return cursor.data;
+    }
+
+    /**
+     * Remove one copy of a specified element from this bag. If the node in
+     * front of the first copy of target belongs to this bag alone, the target
+     * is unlinked in place. Otherwise the shared nodes in front of it are
+     * copied; the nodes after it stay shared with any other bag that holds
+     * them.
+     *
+     * @param target - the element to remove from this bag
+     * @return True if the element has been removed, else false
+     */
+    public boolean remove(int target) {
+        PersistentNode targetNode;  // the node that contains the target
+        PersistentNode lastOwned;   // the last node in front of it that only this bag can reach (or null)
+        PersistentNode firstShared; // the first node in front of it that other bags may reach
+
+        lastOwned = null;
+        for (targetNode = head; targetNode != null; targetNode = targetNode.link) {
+            if (targetNode.data == target) {
+                break;
+            }
+            if (targetNode.owner == owner) {
+                lastOwned = targetNode;
+            }
+        }
+
+        if (targetNode == null) {
+            // The target was not found, so nothing is removed
+            return false;
+        }
+
+        // Copy the shared nodes in front of the target (if any) onto the rest of the list after it
+        firstShared = (lastOwned == null) ? head : lastOwned.link;
+        if (lastOwned == null) {
+            head = pushAll(firstShared, targetNode, targetNode.link, owner);
+        } else {
+            lastOwned.link = pushAll(firstShared, targetNode, targetNode.link, owner);
+        }
+        manyNodes--;
+        return true;
+    }
+
+    /**
+     * Accessor method to determine the number of elements in this bag
+     *
+     * @return The number of elements in this bag
+     */
+    public int size() {
+        return manyNodes;
+    }
+
+    /**
+     * Create a new bag that contains all the elements from the two other bags.
+     * The new bag shares the nodes of the larger bag.
+     *
+     * @param b1 - the first of two bags
+     * @param b2 - the second of two bags
+     * @return A new bag that is the union of b1 and b2
+     */
+    public static PersistentIntLinkedBag union(PersistentIntLinkedBag b1, PersistentIntLinkedBag b2) {
+        PersistentIntLinkedBag answer;
+
+        // Check for null reference in b1 and b2
+        if (b1 == null) {
+            throw new NullPointerException("b1 is null");
+        }
+        if (b2 == null) {
+            throw new NullPointerException("b2 is null");
+        }
+
+        answer = b1.clone();
+        answer.addAll(b2);
+        return answer;
+    }
+
+    /**
+     * Push copies of part of a list onto the front of another list. The order
+     * of the copied elements is reversed, which does not matter in a bag.
+     *
+     * @param start - the first node to copy
+     * @param end - the node to stop before (or null to copy to the end)
+     * @param base - the list that the copies are pushed onto
+     * @param owner - the stamp of the copies
+     * @return The head of the new list
+     */
+    private static PersistentNode pushAll(PersistentNode start, PersistentNode end, PersistentNode base, Object owner) {
+        PersistentNode cursor;
+
+        for (cursor = start; cursor != end; cursor = cursor.link) {
+            base = new PersistentNode(cursor.data, base, owner);
+        }
+
+        return base;
+    }
+
+    /**
+     * A node of the list, whose link changes only while its owner is the
+     * current token of the bag that made it
+     */
+    private static final class PersistentNode {
+
+        final int data;             // the element in this node
+        PersistentNode link;        // reference to the next node in the list
+        final Object owner;         // the token of the bag that made this node
+
+        PersistentNode(int data, PersistentNode link, Object owner) {
+            this.data = data;
+            this.link = link;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.master.tests.generics;
+
+import com.master.datastructures.generics.ArrayBag;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class ArrayBagTest {
+
+    private static final int RANGE = 20;   // elements are drawn from 0 to RANGE-1, plus null
+
+    public ArrayBagTest() {
+    }
+
+    /**
+     * Draw an element, which is null about one time in RANGE
+     */
+    private static Integer element(Random generator) {
+        int e = generator.nextInt(RANGE + 1);
+        return (e == RANGE) ? null : e;
+    }
+
+    /**
+     * Check every count of a bag against the expected counts, with the bag's
+     * own countOccurrences and with a linear scan of a copy that is not indexed
+     */
+    private static void assertCounts(int expected[], ArrayBag<Integer> bag) {
+        ArrayBag<Integer> scanned = bag.clone();
+        int total = 0;
+
+        scanned.setIndexed(false);
+        for (int e = 0; e <= RANGE; e++) {
+            Integer target = (e == RANGE) ? null : e;
+            assertEquals("occurrences of " + target, expected[e], bag.countOccurrences(target));
+            assertEquals("scanned occurrences of " + target, expected[e], scanned.countOccurrences(target));
+            total += expected[e];
+        }
+        assertEquals(total, bag.size());
+    }
+
+    /**
+     * Test of indexed mode, of class ArrayBag: countOccurrences and remove must
+     * agree with a linear scan across adds, removes, growth and shrinking.
+     */
+    @Test
+    public void testIndexedAgainstLinearScan() {
+        System.out.println("indexed mode");
+        Random generator = new Random(13);
+        ArrayBag<Integer> instance = new ArrayBag<>(1);
+        int expected[] = new int[RANGE + 1];
+        boolean adding;
+        Integer e;
+        int slot;
+
+        instance.setIndexed(true);
+        instance.setAutoShrink(true);
+        for (int step = 0; step < 20000; step++) {
+            e = element(generator);
+            slot = (e == null) ? RANGE : e;
+            // Alternate long runs of mostly adds and mostly removes, so the bag grows and shrinks
+            adding = ((step / 500) % 2 == 0) == (generator.nextInt(4) != 0);
+            if (adding) {
+                instance.add(e);
+                expected[slot]++;
+            } else {
+                assertEquals("remove " + e, expected[slot] > 0, instance.remove(e));
+                if (expected[slot] > 0) {
+                    expected[slot]--;
+                }
+            }
+            if (step % 250 == 0) {
+                assertCounts(expected, instance);
+            }
+            if (step % 3000 == 1500) {
+                // Rebuilding the index from scratch must give the same answers
+                instance.setIndexed(false);
+                instance.setIndexed(true);
+            }
+        }
+        assertCounts(expected, instance);
+    }
+
+    /**
+     * Test of indexed mode with addAll, clone and union, of class ArrayBag
+     */
+    @Test
+    public void testIndexedAddAllAndClone() {
+        System.out.println("indexed addAll and clone");
+        ArrayBag<Integer> instance = new ArrayBag<>();
+        ArrayBag<Integer> copy;
+        ArrayBag<Integer> union;
+        int expected[] = new int[RANGE + 1];
+
+        instance.setIndexed(true);
+        instance.addMany(1, 2, 2, 3, null);
+        instance.addAll(instance);  // adding a bag to itself doubles every count
+        expected[1] = 2;
+        expected[2] = 4;
+        expected[3] = 2;
+        expected[RANGE] = 2;
+        assertCounts(expected, instance);
+
+        copy = instance.clone();
+        assertTrue(copy.remove(2));
+        assertTrue(copy.remove(null));
+        assertCounts(expected, instance);
+        expected[2]--;
+        expected[RANGE]--;
+        assertCounts(expected, copy);
+
+        union = ArrayBag.union(instance, copy);
+        for (int e = 0; e <= RANGE; e++) {
+            Integer target = (e == RANGE) ? null : e;
+            assertEquals(instance.countOccurrences(target) + copy.countOccurrences(target), union.countOccurrences(target));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.master.tests.generics;
+
+import com.master.datastructures.generics.LinkedBag;
+import com.master.datastructures.generics.Lister;
+import java.util.ConcurrentModificationException;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class ListerTest {
+
+    public ListerTest() {
+    }
+
+    /**
+     * Make a bag whose list is, from the head, the given elements
+     */
+    private static LinkedBag<String> bagOf(String... elements) {
+        LinkedBag<String> answer = new LinkedBag<>();
+
+        for (int i = elements.length - 1; i >= 0; i--) {
+            answer.add(elements[i]);    // add puts each element at the head
+        }
+        return answer;
+    }
+
+    /**
+     * Test of remove on the head of the list, of class Lister.
+     */
+    @Test
+    public void testRemoveHead() {
+        System.out.println("remove head");
+        LinkedBag<String> instance = bagOf("a", "b", "c");
+        Lister<String> lister = instance.iterator();
+
+        assertEquals("a", lister.next());
+        lister.remove();
+        assertEquals(2, instance.size());
+        assertEquals(0, instance.countOccurrences("a"));
+        assertEquals("b", lister.next());
+        lister.remove();    // the new head
+        assertEquals("c", lister.next());
+        assertFalse(lister.hasNext());
+        assertEquals(1, instance.size());
+        assertEquals(1, instance.countOccurrences("c"));
+        assertEquals("c", instance.grab());
+    }
+
+    /**
+     * Test of remove in the middle of the list, of class Lister.
+     */
+    @Test
+    public void testRemoveMiddle() {
+        System.out.println("remove middle");
+        LinkedBag<String> instance = bagOf("a", "b", "c", "d");
+        Lister<String> lister = instance.iterator();
+        StringBuilder rest = new StringBuilder();
+
+        assertEquals("a", lister.next());
+        assertEquals("b", lister.next());
+        lister.remove();
+        assertEquals("c", lister.next());
+        lister.remove();    // two removes in a row, with next between them
+        assertEquals("d", lister.next());
+        assertFalse(lister.hasNext());
+        assertEquals(2, instance.size());
+
+        for (String s : instance) {
+            rest.append(s);
+        }
+        assertEquals("ad", rest.toString());
+    }
+
+    /**
+     * Test of remove called twice after one next, of class Lister.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testDoubleRemove() {
+        System.out.println("double remove");
+        LinkedBag<String> instance = bagOf("a", "b");
+        Lister<String> lister = instance.iterator();
+
+        lister.next();
+        lister.remove();
+        lister.remove();
+    }
+
+    /**
+     * Test of remove before next, of class Lister.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testRemoveBeforeNext() {
+        System.out.println("remove before next");
+        bagOf("a").iterator().remove();
+    }
+
+    /**
+     * Test of next after the bag was changed by add, of class Lister.
+     */
+    @Test
+    public void testAddOutsideLister() {
+        System.out.println("add outside lister");
+        LinkedBag<String> instance = bagOf("a", "b");
+        Lister<String> lister = instance.iterator();
+
+        lister.next();
+        instance.add("c");
+        try {
+            lister.next();
+            fail("next did not notice the add");
+        } catch (ConcurrentModificationException e) {
+        }
+        try {
+            lister.remove();
+            fail("remove did not notice the add");
+        } catch (ConcurrentModificationException e) {
+        }
+        assertEquals(3, instance.size());
+    }
+
+    /**
+     * Test of a Lister that removes while another Lister is in use, of class
+     * Lister.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void testRemoveThroughOtherLister() {
+        System.out.println("remove through other lister");
+        LinkedBag<String> instance = bagOf("a", "b");
+        Lister<String> first = instance.iterator();
+        Lister<String> second = instance.iterator();
+
+        first.next();
+        second.next();
+        second.remove();
+        first.next();
+    }
+}
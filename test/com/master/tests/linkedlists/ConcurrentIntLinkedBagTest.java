@@ -0,0 +1,164 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.ConcurrentIntLinkedBag;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Runs several threads against one ConcurrentIntLinkedBag and checks that the
+ * sizes and counts add up once they have finished
+ *
+ * @author simon_000
+ */
+public class ConcurrentIntLinkedBagTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 20000;
+
+    public ConcurrentIntLinkedBagTest() {
+    }
+
+    /**
+     * Run the same task on THREADS threads that start together, and return
+     * their results
+     */
+    private static <T> List<T> runTogether(final Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        List<T> answer = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<T> future : futures) {
+                answer.add(future.get(60, TimeUnit.SECONDS));   // rethrows anything a thread threw
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return answer;
+    }
+
+    /**
+     * Each thread adds its own elements and removes half of them, while
+     * compactions run in between.
+     */
+    @Test
+    public void testConcurrentAddAndRemove() throws Exception {
+        System.out.println("concurrent add and remove");
+        final ConcurrentIntLinkedBag instance = new ConcurrentIntLinkedBag();
+        final int next[] = new int[1];
+
+        runTogether(() -> {
+            int base;
+            synchronized (next) {
+                base = next[0]++ * PER_THREAD;
+            }
+            for (int i = 0; i < PER_THREAD; i++) {
+                instance.add(base + i);
+                if (i % 2 == 1) {
+                    assertTrue(instance.remove(base + i - 1));
+                }
+                if (i % 1000 == 0) {
+                    instance.compact();
+                }
+            }
+            return null;
+        });
+
+        instance.compact();
+        assertEquals(THREADS * PER_THREAD / 2, instance.size());
+        for (int e = 0; e < THREADS * PER_THREAD; e++) {
+            assertEquals("occurrences of " + e, e % 2, instance.countOccurrences(e));
+        }
+    }
+
+    /**
+     * Every thread removes the same element until it is gone; each copy must
+     * be removed by exactly one thread.
+     */
+    @Test
+    public void testContendedRemove() throws Exception {
+        System.out.println("contended remove");
+        final ConcurrentIntLinkedBag instance = new ConcurrentIntLinkedBag();
+        final int copies = THREADS * PER_THREAD / 2;
+        int removed;
+
+        for (int i = 0; i < copies; i++) {
+            instance.add(42);
+            instance.add(7);
+        }
+
+        removed = 0;
+        for (int count : runTogether(() -> {
+            int answer = 0;
+            while (instance.remove(42)) {
+                answer++;
+            }
+            return answer;
+        })) {
+            removed += count;
+        }
+
+        assertEquals(copies, removed);
+        assertEquals(0, instance.countOccurrences(42));
+        assertEquals(copies, instance.countOccurrences(7));
+        assertEquals(copies, instance.size());
+        assertFalse(instance.remove(42));
+    }
+
+    /**
+     * Elements that nobody touches are always counted exactly, even while
+     * other elements are added, removed and compacted away.
+     */
+    @Test
+    public void testCountOccurrencesDuringChurn() throws Exception {
+        System.out.println("countOccurrences during churn");
+        final ConcurrentIntLinkedBag instance = new ConcurrentIntLinkedBag();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final int stable = 100;
+        final int turn[] = new int[1];
+
+        for (int i = 0; i < stable; i++) {
+            instance.add(-1);
+        }
+
+        runTogether(() -> {
+            boolean writer;
+            synchronized (turn) {
+                writer = turn[0]++ % 2 == 0;
+            }
+            if (writer) {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    instance.addMany(i, i + 1);
+                    assertTrue(instance.remove(i));
+                    assertTrue(instance.remove(i + 1));
+                }
+                writing.set(false);
+            } else {
+                do {
+                    assertEquals(stable, instance.countOccurrences(-1));
+                } while (writing.get());
+            }
+            return null;
+        });
+
+        assertEquals(stable, instance.size());
+        assertEquals(stable, instance.countOccurrences(-1));
+    }
+}
@@ -50,5 +50,108 @@ public class IntLinkedSeqTest {
         // TODO review the generated test code and remove the default call to fail.
         fail("The test case is a prototype.");
     }
-    
+
+    /**
+     * Test of addBefore with no current element, of class IntLinkedSeq.
+     */
+    @Test
+    public void testAddBeforeWithoutCurrent() {
+        System.out.println("addBefore without current");
+        IntLinkedSeq instance = new IntLinkedSeq();
+        instance.addAfter(1);
+        instance.addAfter(2);
+        instance.advance();     // off the end
+        assertFalse(instance.isCurrent());
+
+        instance.addBefore(0);  // goes to the front
+        assertTrue(instance.isCurrent());
+        assertEquals(0, instance.getCurrent());
+        assertArrayEquals(new int[]{0, 1, 2}, instance.toIntArray());
+
+        instance.addBefore(-1); // the current element is the head
+        assertArrayEquals(new int[]{-1, 0, 1, 2}, instance.toIntArray());
+        instance.advance();
+        instance.advance();
+        instance.addBefore(5);  // in the middle
+        assertEquals(5, instance.getCurrent());
+        assertArrayEquals(new int[]{-1, 0, 5, 1, 2}, instance.toIntArray());
+    }
+
+    /**
+     * Test of advance off the end, of class IntLinkedSeq.
+     */
+    @Test
+    public void testAdvanceOffEnd() {
+        System.out.println("advance off end");
+        IntLinkedSeq instance = new IntLinkedSeq();
+        instance.addAfter(1);
+        instance.addAfter(2);
+        instance.advance();
+        assertFalse(instance.isCurrent());
+        instance.advance();     // nothing happens without a current element
+        assertFalse(instance.isCurrent());
+
+        // With no current element, addAfter goes to the end and addBefore to the front
+        instance.addAfter(3);
+        assertEquals(3, instance.getCurrent());
+        instance.advance();
+        instance.addBefore(0);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, instance.toIntArray());
+        assertEquals(4, instance.size());
+    }
+
+    /**
+     * Test of getCurrent with no current element, of class IntLinkedSeq.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testGetCurrentWithoutCurrent() {
+        System.out.println("getCurrent without current");
+        IntLinkedSeq instance = new IntLinkedSeq();
+        instance.addAfter(1);
+        instance.advance();
+        instance.getCurrent();
+    }
+
+    /**
+     * Test of the cursor of a clone, of class IntLinkedSeq.
+     */
+    @Test
+    public void testCloneCursor() throws CloneNotSupportedException {
+        System.out.println("clone cursor");
+        IntLinkedSeq instance = new IntLinkedSeq();
+        IntLinkedSeq copy;
+        for (int i = 0; i < 5; i++) {
+            instance.addAfter(i);
+        }
+        instance.start();
+        instance.advance();
+        instance.advance();
+
+        copy = (IntLinkedSeq) instance.clone();
+        assertEquals(2, copy.getCurrent());
+        copy.addBefore(9);      // needs the copy's own precursor
+        copy.removeCurrent();
+        copy.removeCurrent();
+        assertEquals(3, copy.getCurrent());
+        assertArrayEquals(new int[]{0, 1, 3, 4}, copy.toIntArray());
+        copy.advance();
+        copy.addAfter(5);       // needs the copy's own tail
+        assertArrayEquals(new int[]{0, 1, 3, 4, 5}, copy.toIntArray());
+
+        // The original and its cursor are unchanged
+        assertEquals(2, instance.getCurrent());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, instance.toIntArray());
+
+        instance.start();
+        instance.advance();
+        instance.advance();
+        instance.advance();
+        instance.advance();
+        instance.advance();     // off the end
+        copy = (IntLinkedSeq) instance.clone();
+        assertFalse(copy.isCurrent());
+        copy.addAfter(7);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 7}, copy.toIntArray());
+    }
+
 }
@@ -0,0 +1,242 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import com.master.datastructures.linkedlists.IntNodeArena;
+import com.master.datastructures.linkedlists.OffHeapIntLinkedBag;
+import com.master.datastructures.linkedlists.OffHeapIntLinkedSeq;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class IntNodeArenaTest {
+
+    private static final int NULL = IntNodeArena.NULL;
+
+    public IntNodeArenaTest() {
+    }
+
+    /**
+     * Test of free, of class IntNodeArena: freed slots are handed out again
+     * before the arena uses a new one.
+     */
+    @Test
+    public void testFreedSlotsReused() {
+        System.out.println("freed slots reused");
+        IntNodeArena instance = new IntNodeArena(4);
+        int a = instance.allocate(1, NULL);
+        int b = instance.allocate(2, a);
+        int c = instance.allocate(3, b);
+        int d;
+        int e;
+
+        instance.free(b);
+        instance.free(c);
+        assertEquals(1, instance.liveNodes());
+        assertEquals(c, instance.allocate(30, NULL));  // the last freed slot comes back first
+        assertEquals(b, instance.allocate(20, NULL));
+        assertEquals(30, instance.getData(c));
+        assertEquals(NULL, instance.getLink(c));
+        assertEquals(20, instance.getData(b));
+        assertEquals(1, instance.getData(a));
+        assertEquals(3, instance.liveNodes());
+        assertEquals(4, instance.getCapacity());
+
+        d = instance.allocate(4, NULL);
+        e = instance.allocate(5, d);    // the fifth node grows the arena
+        assertEquals(8, instance.getCapacity());
+        instance.freeChain(e);
+        assertEquals(3, instance.liveNodes());
+        assertEquals(d, instance.allocate(6, NULL));   // freeChain frees from the head, so d is on top
+        assertEquals(e, instance.allocate(7, NULL));
+        assertEquals(5, instance.liveNodes());
+
+        instance.clear();
+        assertEquals(0, instance.liveNodes());
+        assertEquals(0, instance.allocate(7, NULL));    // clear starts again from the first slot
+        instance.close();
+    }
+
+    /**
+     * Test of growing, of class IntNodeArena: every node keeps its handle,
+     * data and link when the buffer is replaced.
+     */
+    @Test
+    public void testGrow() {
+        System.out.println("grow");
+        IntNodeArena instance = new IntNodeArena(1);
+        int handles[] = new int[1000];
+        int previous = NULL;
+        int copy[];
+        int node;
+
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = instance.allocate(i * 7, previous);
+            previous = handles[i];
+            assertTrue(instance.getCapacity() > i);
+        }
+        assertEquals(1024, instance.getCapacity());
+        assertEquals(handles.length, instance.liveNodes());
+        for (int i = 0; i < handles.length; i++) {
+            assertEquals(i * 7, instance.getData(handles[i]));
+            assertEquals(i == 0 ? NULL : handles[i - 1], instance.getLink(handles[i]));
+        }
+
+        // Copying the whole list grows the arena again, during the copy
+        copy = instance.listCopyWithTail(previous);
+        assertEquals(2048, instance.getCapacity());
+        node = copy[0];
+        for (int i = handles.length - 1; i >= 0; i--) {
+            assertEquals(i * 7, instance.getData(node));
+            if (i == 0) {
+                assertEquals(copy[1], node);
+            }
+            node = instance.getLink(node);
+        }
+        assertEquals(NULL, node);
+        instance.close();
+    }
+
+    /**
+     * Test of a bad initial size, of class IntNodeArena.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroInitialNodes() {
+        System.out.println("zero initial nodes");
+        new IntNodeArena(0);
+    }
+
+    /**
+     * Test of close, of class IntNodeArena: every method that touches a node
+     * throws afterwards.
+     */
+    @Test
+    public void testClose() {
+        System.out.println("close");
+        final IntNodeArena instance = new IntNodeArena(4);
+        final int node = instance.allocate(1, NULL);
+        Runnable calls[] = {
+            () -> instance.allocate(2, NULL),
+            () -> instance.free(node),
+            () -> instance.freeChain(node),
+            () -> instance.getData(node),
+            () -> instance.getLink(node),
+            () -> instance.setData(node, 3),
+            () -> instance.setLink(node, NULL),
+            () -> instance.listCopyWithTail(node),
+            () -> instance.clear()
+        };
+
+        instance.close();
+        assertTrue(instance.isClosed());
+        assertEquals(0, instance.liveNodes());
+        for (int i = 0; i < calls.length; i++) {
+            try {
+                calls[i].run();
+                fail("call " + i + " worked on a closed arena");
+            } catch (IllegalStateException e) {
+            }
+        }
+        instance.close();   // closing twice does nothing
+    }
+
+    /**
+     * Test of OffHeapIntLinkedSeq against IntLinkedSeq, with random cursor
+     * operations on a shared arena.
+     */
+    @Test
+    public void testOffHeapSeqMatchesIntLinkedSeq() {
+        System.out.println("off-heap seq matches IntLinkedSeq");
+        Random generator = new Random(3);
+        IntNodeArena arena = new IntNodeArena(8);
+        OffHeapIntLinkedSeq instance = new OffHeapIntLinkedSeq(arena);
+        IntLinkedSeq expected = new IntLinkedSeq();
+        int element;
+
+        for (int step = 0; step < 20000; step++) {
+            element = generator.nextInt();
+            switch (generator.nextInt(6)) {
+                case 0:
+                    expected.addBefore(element);
+                    instance.addBefore(element);
+                    break;
+                case 1:
+                case 2:
+                    expected.addAfter(element);
+                    instance.addAfter(element);
+                    break;
+                case 3:
+                    if (expected.isCurrent()) {
+                        expected.removeCurrent();
+                        instance.removeCurrent();
+                    }
+                    break;
+                case 4:
+                    expected.advance();
+                    instance.advance();
+                    break;
+                default:
+                    if (generator.nextInt(10) == 0) {
+                        expected.start();
+                        instance.start();
+                    }
+                    break;
+            }
+            assertEquals(expected.size(), instance.size());
+            assertEquals(expected.isCurrent(), instance.isCurrent());
+            if (expected.isCurrent()) {
+                assertEquals(expected.getCurrent(), instance.getCurrent());
+            }
+            assertEquals(expected.size(), arena.liveNodes());
+        }
+
+        expected.start();
+        instance.start();
+        while (expected.isCurrent()) {
+            assertEquals(expected.getCurrent(), instance.getCurrent());
+            expected.advance();
+            instance.advance();
+        }
+        assertFalse(instance.isCurrent());
+
+        // Closing a sequence on a shared arena frees its nodes and leaves the arena open
+        instance.close();
+        assertEquals(0, instance.size());
+        assertEquals(0, arena.liveNodes());
+        assertFalse(arena.isClosed());
+        arena.close();
+    }
+
+    /**
+     * Test of OffHeapIntLinkedBag and its clone on a shared arena.
+     */
+    @Test
+    public void testOffHeapBag() {
+        System.out.println("off-heap bag");
+        IntNodeArena arena = new IntNodeArena(2);
+        OffHeapIntLinkedBag instance = new OffHeapIntLinkedBag(arena);
+        OffHeapIntLinkedBag copy;
+
+        instance.addMany(1, 2, 2, 3, 2);
+        copy = instance.clone();
+        assertTrue(instance.remove(2));
+        assertTrue(instance.remove(1));
+        assertFalse(instance.remove(9));
+        assertEquals(2, instance.countOccurrences(2));
+        assertEquals(0, instance.countOccurrences(1));
+        assertEquals(3, instance.size());
+        assertEquals(3, copy.countOccurrences(2));
+        assertEquals(5, copy.size());
+        assertEquals(8, arena.liveNodes());
+
+        copy.close();
+        assertEquals(3, arena.liveNodes());
+        assertEquals(2, instance.countOccurrences(2));
+        instance.close();
+        assertEquals(0, arena.liveNodes());
+        arena.close();
+    }
+}
@@ -0,0 +1,202 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.IntLinkedBag;
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import com.master.datastructures.linkedlists.IntNode;
+import com.master.datastructures.linkedlists.IntNodeCodec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class IntNodeCodecTest {
+
+    private Path file;
+
+    public IntNodeCodecTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("IntNodeCodecTest", ".bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private FileChannel open() throws IOException {
+        return FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Build a chain holding the elements of an array, in order
+     */
+    private static IntNode chainOf(int elements[]) {
+        IntNode head = null;
+
+        for (int i = elements.length - 1; i >= 0; i--) {
+            head = new IntNode(elements[i], head);
+        }
+        return head;
+    }
+
+    private static int[] toArray(IntNode chain[]) {
+        if (chain == null) {
+            return new int[0];
+        }
+        int answer[] = new int[IntNode.listLength(chain[0])];
+        IntNode last = null;
+        int i = 0;
+        for (IntNode node = chain[0]; node != null; node = node.getLink()) {
+            answer[i++] = node.getData();
+            last = node;
+        }
+        assertSame("tail", last, chain[1]);
+        return answer;
+    }
+
+    /**
+     * Test of records written back to back on one channel, of class
+     * IntNodeCodec: each read must stop at the end of its own record.
+     */
+    @Test
+    public void testBackToBackRecords() throws IOException {
+        System.out.println("back to back records");
+        Random generator = new Random(23);
+        int records[][] = new int[8][];
+        boolean delta[] = new boolean[records.length];
+
+        records[0] = new int[0];
+        records[1] = new int[]{Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, 0, -1, Integer.MAX_VALUE};
+        records[2] = new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE, 1};
+        for (int r = 3; r < records.length; r++) {
+            // Large enough to cross the codec's 64 KB buffer, so reads go past the record end
+            records[r] = new int[generator.nextInt(40000)];
+            for (int i = 0; i < records[r].length; i++) {
+                records[r][i] = (r % 2 == 0) ? generator.nextInt() : i * 3 - generator.nextInt(5);
+            }
+        }
+        for (int r = 0; r < records.length; r++) {
+            delta[r] = (r % 2 == 1) || r == 2;
+        }
+
+        try (FileChannel channel = open()) {
+            for (int r = 0; r < records.length; r++) {
+                IntNodeCodec.writeChain(chainOf(records[r]), channel, delta[r]);
+            }
+            channel.position(0);
+            for (int r = 0; r < records.length; r++) {
+                assertArrayEquals("record " + r, records[r], toArray(IntNodeCodec.readChain(channel)));
+            }
+            assertEquals(channel.size(), channel.position());
+        }
+    }
+
+    /**
+     * Test of writeTo and readFrom, of classes IntLinkedBag and IntLinkedSeq,
+     * sharing one channel.
+     */
+    @Test
+    public void testBagAndSeqRoundTrip() throws IOException {
+        System.out.println("bag and seq round trip");
+        IntLinkedBag bag = new IntLinkedBag();
+        IntLinkedSeq seq = new IntLinkedSeq();
+        IntLinkedBag bagCopy;
+        IntLinkedBag sortedCopy;
+        IntLinkedSeq seqCopy;
+        int expected[];
+
+        bag.addMany(5, Integer.MIN_VALUE, 5, Integer.MAX_VALUE, 0, -7);
+        for (int i = 0; i < 1000; i++) {
+            seq.addAfter(i * i - 500);
+        }
+
+        try (FileChannel channel = open()) {
+            bag.writeTo(channel, false);
+            seq.writeTo(channel, true);
+            bag.writeTo(channel, true);
+            channel.position(0);
+            bagCopy = IntLinkedBag.readFrom(channel);
+            seqCopy = IntLinkedSeq.readFrom(channel);
+            sortedCopy = IntLinkedBag.readFrom(channel);
+        }
+
+        assertArrayEquals(bag.toIntArray(), bagCopy.toIntArray());
+        assertArrayEquals(seq.toIntArray(), seqCopy.toIntArray());
+        assertFalse(seqCopy.isCurrent());
+        expected = bag.toIntArray();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, sortedCopy.toIntArray());
+        assertEquals(bag.size(), sortedCopy.size());
+    }
+
+    /**
+     * Test of a record cut short, of class IntNodeCodec.
+     */
+    @Test
+    public void testTruncatedRecord() throws IOException {
+        System.out.println("truncated record");
+        int elements[] = new int[100];
+
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = i * 1000;
+        }
+        try (FileChannel channel = open()) {
+            IntNodeCodec.writeChain(chainOf(elements), channel, true);
+            for (long length = channel.size() - 1; length >= 0; length -= 37) {
+                channel.truncate(length);
+                channel.position(0);
+                try {
+                    IntNodeCodec.readChain(channel);
+                    fail("read a record cut to " + length + " bytes");
+                } catch (EOFException e) {
+                }
+            }
+        }
+    }
+
+    /**
+     * Test of a channel that does not hold a record, of class IntNodeCodec.
+     */
+    @Test(expected = StreamCorruptedException.class)
+    public void testBadMagic() throws IOException {
+        System.out.println("bad magic");
+        Files.write(file, new byte[]{1, 2, 3, 4, 0, 0});
+        try (FileChannel channel = open()) {
+            IntNodeCodec.readChain(channel);
+        }
+    }
+
+    /**
+     * Test of writeTo with a null channel, of class IntLinkedBag.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testWriteToNull() throws IOException {
+        System.out.println("writeTo null");
+        new IntLinkedBag().writeTo(null, false);
+    }
+
+    /**
+     * Test of readFrom with a null channel, of class IntLinkedBag.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testReadFromNull() throws IOException {
+        System.out.println("readFrom null");
+        IntLinkedBag.readFrom(null);
+    }
+}
@@ -0,0 +1,175 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.generics.LinkedBag;
+import com.master.datastructures.linkedlists.IntLinkedBag;
+import com.master.datastructures.linkedlists.IntLinkedSeq;
+import com.master.datastructures.linkedlists.IntNode;
+import com.master.datastructures.linkedlists.IntNodePool;
+import com.master.datastructures.linkedlists.Node;
+import com.master.datastructures.linkedlists.NodePool;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class IntNodePoolTest {
+
+    public IntNodePoolTest() {
+    }
+
+    /**
+     * Test of a steady cycle of adds and removes on a pooled bag, of class
+     * IntNodePool: once the pool has filled, nothing more is allocated.
+     */
+    @Test
+    public void testSteadyBagCycle() {
+        System.out.println("steady bag cycle");
+        IntNodePool pool = new IntNodePool(64);
+        IntLinkedBag instance = new IntLinkedBag();
+        long misses;
+
+        instance.setNodePool(pool);
+        for (int i = 0; i < 32; i++) {
+            instance.add(i);
+        }
+        for (int i = 0; i < 32; i++) {
+            assertTrue(instance.remove(i));
+        }
+        misses = pool.getMisses();
+        assertEquals(32, misses);
+        assertEquals(32, pool.size());
+
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 32; i++) {
+                instance.add(round + i);
+            }
+            for (int i = 0; i < 32; i++) {
+                assertTrue(instance.remove(round + i));
+            }
+        }
+        assertEquals(misses, pool.getMisses());
+        assertEquals(1000 * 32, pool.getHits());
+        assertEquals(0, pool.getDiscards());
+        assertEquals(0, instance.size());
+    }
+
+    /**
+     * Test of a steady cycle on a pooled sequence, of class IntNodePool.
+     */
+    @Test
+    public void testSteadySeqCycle() {
+        System.out.println("steady seq cycle");
+        IntNodePool pool = new IntNodePool(64);
+        IntLinkedSeq instance = new IntLinkedSeq();
+        long misses;
+
+        instance.setNodePool(pool);
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 16; i++) {
+                instance.addBefore(i);
+                instance.addAfter(-i);
+            }
+            instance.start();
+            while (instance.isCurrent()) {
+                instance.removeCurrent();
+            }
+            if (round == 0) {
+                misses = pool.getMisses();
+                pool.resetStatistics();
+                assertEquals(32, misses);
+            }
+        }
+        assertEquals(0, pool.getMisses());
+        assertEquals(999 * 32, pool.getHits());
+        assertEquals(0, instance.size());
+    }
+
+    /**
+     * Test of a pool shared by a bag and its clone, of class IntNodePool.
+     */
+    @Test
+    public void testCloneSharesPool() {
+        System.out.println("clone shares pool");
+        IntNodePool pool = new IntNodePool(64);
+        IntLinkedBag instance = new IntLinkedBag();
+        IntLinkedBag copy;
+
+        instance.setNodePool(pool);
+        instance.addMany(1, 2, 3);
+        copy = instance.clone();
+        assertSame(pool, copy.getNodePool());
+        assertTrue(copy.remove(2));
+        assertEquals(1, pool.size());
+        instance.add(4);    // reuses the node the clone gave back
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.getHits());
+        assertEquals(4, instance.size());
+        assertEquals(2, copy.size());
+    }
+
+    /**
+     * Test of release on a full pool, of class IntNodePool.
+     */
+    @Test
+    public void testBoundedSize() {
+        System.out.println("bounded size");
+        IntNodePool pool = new IntNodePool(2);
+
+        for (int i = 0; i < 5; i++) {
+            pool.release(new IntNode(i, null));
+        }
+        assertEquals(2, pool.size());
+        assertEquals(3, pool.getDiscards());
+        pool.allocate(7, null);
+        pool.allocate(8, null);
+        IntNode fresh = pool.allocate(9, null);
+        assertEquals(9, fresh.getData());
+        assertEquals(2, pool.getHits());
+        assertEquals(1, pool.getMisses());
+        assertEquals(0, pool.size());
+    }
+
+    /**
+     * Test of release, of class NodePool: a free node must not keep its
+     * element alive.
+     */
+    @Test
+    public void testReleaseNullsData() {
+        System.out.println("release nulls data");
+        NodePool<String> pool = new NodePool<>(4);
+        Node<String> node = new Node<>("element", null);
+        Node<String> reused;
+
+        pool.release(node);
+        assertNull(node.getData());
+        assertEquals(1, pool.size());
+        reused = pool.allocate("again", null);
+        assertSame(node, reused);
+        assertEquals("again", reused.getData());
+        assertNull(reused.getLink());
+    }
+
+    /**
+     * Test of a steady cycle on a pooled LinkedBag, of class NodePool.
+     */
+    @Test
+    public void testPooledLinkedBag() {
+        System.out.println("pooled LinkedBag");
+        NodePool<String> pool = new NodePool<>(16);
+        LinkedBag<String> instance = new LinkedBag<>();
+
+        instance.setNodePool(pool);
+        for (int round = 0; round < 100; round++) {
+            instance.addMany("a", "b", "c");
+            assertTrue(instance.remove("b"));
+            assertTrue(instance.remove("a"));
+            assertTrue(instance.remove("c"));
+        }
+        assertEquals(3, pool.getMisses());
+        assertEquals(99 * 3, pool.getHits());
+        assertEquals(3, pool.size());
+        assertEquals(0, instance.size());
+    }
+}
@@ -0,0 +1,71 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.IntNode;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class IntNodeTest {
+
+    public IntNodeTest() {
+    }
+
+    /**
+     * Build a linked list that holds the given elements in order
+     */
+    private static IntNode listOf(int... elements) {
+        IntNode head = null;
+        for (int i = elements.length - 1; i >= 0; i--) {
+            head = new IntNode(elements[i], head);
+        }
+        return head;
+    }
+
+    /**
+     * Copy the elements of a linked list into an array
+     */
+    private static int[] toArray(IntNode head) {
+        int[] answer = new int[IntNode.listLength(head)];
+        int i = 0;
+        for (IntNode cursor = head; cursor != null; cursor = cursor.getLink()) {
+            answer[i++] = cursor.getData();
+        }
+        return answer;
+    }
+
+    /**
+     * Test of listSort method, of class IntNode.
+     */
+    @Test
+    public void testListSort() {
+        System.out.println("listSort");
+        IntNode head = listOf(5, 1, 4, 4, -2, 9, 8, 7, 0, Integer.MIN_VALUE);
+        assertArrayEquals(new int[]{Integer.MIN_VALUE, -2, 0, 1, 4, 4, 5, 7, 8, 9}, toArray(IntNode.listSort(head)));
+        assertNull(IntNode.listSort(null));
+    }
+
+    /**
+     * Test of listRadixSort method, of class IntNode.
+     */
+    @Test
+    public void testListRadixSort() {
+        System.out.println("listRadixSort");
+        IntNode head = listOf(300, -1, 70000, 2, Integer.MAX_VALUE, -70000, 2);
+        assertArrayEquals(new int[]{-70000, -1, 2, 2, 300, 70000, Integer.MAX_VALUE}, toArray(IntNode.listRadixSort(head)));
+    }
+
+    /**
+     * Test of removeDuplicates method, of class IntNode.
+     */
+    @Test
+    public void testRemoveDuplicates() {
+        System.out.println("removeDuplicates");
+        IntNode head = listOf(3, 1, 3, 3, 2, 1, 5);
+        IntNode.removeDuplicates(head);
+        assertArrayEquals(new int[]{3, 1, 2, 5}, toArray(head));
+    }
+
+}
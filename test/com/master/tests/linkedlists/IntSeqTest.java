@@ -0,0 +1,159 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.IntSeq;
+import com.master.datastructures.linkedlists.IntSeqType;
+import com.master.datastructures.linkedlists.OffHeapIntLinkedSeq;
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class IntSeqTest {
+
+    public IntSeqTest() {
+    }
+
+    /**
+     * A plain list with a cursor index, which states the IntSeq contract as
+     * simply as possible
+     */
+    private static class Model {
+
+        final ArrayList<Integer> elements = new ArrayList<>();
+        int current = -1;   // the index of the current element, or -1 if there is none
+
+        void addBefore(int element) {
+            if (current < 0) {
+                current = 0;
+            }
+            elements.add(current, element);
+        }
+
+        void addAfter(int element) {
+            current = (current < 0) ? elements.size() : current + 1;
+            elements.add(current, element);
+        }
+
+        void advance() {
+            if (current >= 0) {
+                current++;
+                if (current == elements.size()) {
+                    current = -1;
+                }
+            }
+        }
+
+        void removeCurrent() {
+            elements.remove(current);
+            if (current == elements.size()) {
+                current = -1;
+            }
+        }
+
+        void start() {
+            current = elements.isEmpty() ? -1 : 0;
+        }
+    }
+
+    private static void assertSame(String name, Model model, IntSeq seq) {
+        assertEquals(name + " size", model.elements.size(), seq.size());
+        assertEquals(name + " isCurrent", model.current >= 0, seq.isCurrent());
+        if (model.current >= 0) {
+            assertEquals(name + " getCurrent", (int) model.elements.get(model.current), seq.getCurrent());
+        }
+    }
+
+    /**
+     * Test of the cursor operations of every IntSeq implementation against a
+     * model, with the same random operations applied to all of them.
+     */
+    @Test
+    public void testCursorOperationsAgree() {
+        System.out.println("cursor operations agree");
+        Random generator = new Random(21);
+        IntSeqType types[] = IntSeqType.values();
+        IntSeq seqs[] = new IntSeq[types.length + 1];
+        String names[] = new String[seqs.length];
+        Model model = new Model();
+        int element;
+
+        for (int i = 0; i < types.length; i++) {
+            seqs[i] = types[i].create();
+            names[i] = types[i].name();
+        }
+        try (OffHeapIntLinkedSeq offHeap = new OffHeapIntLinkedSeq()) {
+            seqs[types.length] = offHeap;
+            names[types.length] = "OFF_HEAP";
+
+            for (int step = 0; step < 30000; step++) {
+                int op = generator.nextInt(100);
+                element = generator.nextInt(1000);
+                // Favour adds early on and removes later, so the sequences grow and then shrink
+                if (op < ((step < 15000) ? 30 : 15)) {
+                    model.addBefore(element);
+                    for (IntSeq seq : seqs) {
+                        seq.addBefore(element);
+                    }
+                } else if (op < ((step < 15000) ? 60 : 30)) {
+                    model.addAfter(element);
+                    for (IntSeq seq : seqs) {
+                        seq.addAfter(element);
+                    }
+                } else if (op < 75) {
+                    if (model.current >= 0) {
+                        model.removeCurrent();
+                        for (IntSeq seq : seqs) {
+                            seq.removeCurrent();
+                        }
+                    }
+                } else if (op < 97) {
+                    model.advance();
+                    for (IntSeq seq : seqs) {
+                        seq.advance();
+                    }
+                } else {
+                    model.start();
+                    for (IntSeq seq : seqs) {
+                        seq.start();
+                    }
+                }
+                for (int i = 0; i < seqs.length; i++) {
+                    assertSame(names[i] + " at step " + step, model, seqs[i]);
+                }
+            }
+
+            // Walk every sequence from the front to compare the whole contents
+            model.start();
+            for (IntSeq seq : seqs) {
+                seq.start();
+            }
+            while (model.current >= 0) {
+                for (int i = 0; i < seqs.length; i++) {
+                    assertSame(names[i] + " at " + model.current, model, seqs[i]);
+                    seqs[i].advance();
+                }
+                model.advance();
+            }
+            for (int i = 0; i < seqs.length; i++) {
+                assertFalse(names[i], seqs[i].isCurrent());
+            }
+        }
+    }
+
+    /**
+     * Test of DEFAULT, of class IntSeqType.
+     */
+    @Test
+    public void testDefault() {
+        System.out.println("default");
+        IntSeq instance = IntSeqType.DEFAULT.create();
+
+        assertNotNull(instance);
+        assertEquals(0, instance.size());
+        assertFalse(instance.isCurrent());
+    }
+}
@@ -0,0 +1,328 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.IntGapSeq;
+import com.master.datastructures.linkedlists.JournaledIntLinkedSeq;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class JournaledIntLinkedSeqTest {
+
+    private static final int JOURNAL_HEADER = 16;   // the layout written by JournaledIntLinkedSeq
+    private static final int BATCH_HEADER = 8;
+
+    private Path directory;
+
+    public JournaledIntLinkedSeqTest() {
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("JournaledIntLinkedSeqTest");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Copy the elements of a sequence into an array, leaving it unchanged
+     */
+    private static int[] contentsOf(IntGapSeq seq) {
+        IntGapSeq copy = seq.clone();
+        int answer[] = new int[copy.size()];
+
+        copy.start();
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = copy.getCurrent();
+            copy.advance();
+        }
+        return answer;
+    }
+
+    private static void assertSameState(String message, IntGapSeq expected, JournaledIntLinkedSeq actual) {
+        assertArrayEquals(message, contentsOf(expected), actual.toIntArray());
+        assertEquals(message + " isCurrent", expected.isCurrent(), actual.isCurrent());
+        if (expected.isCurrent()) {
+            assertEquals(message + " current index", expected.getCurrentIndex(), actual.getCurrentIndex());
+            assertEquals(message + " current", expected.getCurrent(), actual.getCurrent());
+        }
+    }
+
+    /**
+     * Apply the same operation to a model and to a journaled sequence
+     */
+    private static void perform(int op, int element, IntGapSeq model, JournaledIntLinkedSeq seq) {
+        switch (op) {
+            case 0:
+                model.addBefore(element);
+                seq.addBefore(element);
+                break;
+            case 1:
+                model.addAfter(element);
+                seq.addAfter(element);
+                break;
+            case 2:
+                if (model.isCurrent()) {
+                    model.removeCurrent();
+                    seq.removeCurrent();
+                }
+                break;
+            case 3:
+                model.advance();
+                seq.advance();
+                break;
+            default:
+                model.start();
+                seq.start();
+                break;
+        }
+    }
+
+    private Path journal() {
+        return directory.resolve("journal");
+    }
+
+    /**
+     * Find the end of the last committed batch in the journal file, and check
+     * that every byte after it is zero
+     */
+    private void assertCleanTail() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(journal())).order(ByteOrder.BIG_ENDIAN);
+        int position = JOURNAL_HEADER;
+        int length;
+
+        while (position + BATCH_HEADER <= bytes.limit() && (length = bytes.getInt(position)) > 0) {
+            position += BATCH_HEADER + length;
+        }
+        for (int i = position; i < bytes.limit(); i++) {
+            assertEquals("journal byte " + i, 0, bytes.get(i));
+        }
+    }
+
+    /**
+     * Test of reopening, of class JournaledIntLinkedSeq: random operations
+     * with a journal small enough to compact again and again, reopening the
+     * directory at random points.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        System.out.println("reopen");
+        Random generator = new Random(24);
+        IntGapSeq model = new IntGapSeq();
+        JournaledIntLinkedSeq instance = JournaledIntLinkedSeq.open(directory, 7, 4096);
+        int reopens = 0;
+
+        try {
+            for (int step = 0; step < 20000; step++) {
+                // Favour adds, so the sequence grows past what one journal holds
+                perform(generator.nextInt(7) % 5, step, model, instance);
+                assertEquals(model.size(), instance.size());
+                if (generator.nextInt(500) == 0) {
+                    instance.close();
+                    instance = JournaledIntLinkedSeq.open(directory, 7, 4096);
+                    assertSameState("reopen at step " + step, model, instance);
+                    reopens++;
+                }
+            }
+            assertSameState("end", model, instance);
+        } finally {
+            instance.close();
+        }
+        assertTrue(reopens > 10);
+        assertTrue(Files.size(journal()) == 4096);
+
+        instance = JournaledIntLinkedSeq.open(directory, 7, 4096);
+        try {
+            assertSameState("final reopen", model, instance);
+        } finally {
+            instance.close();
+        }
+        assertCleanTail();
+    }
+
+    /**
+     * Test of a batch that fails its CRC, of class JournaledIntLinkedSeq: it
+     * is dropped with everything after it, and the journal can be used again.
+     */
+    @Test
+    public void testCorruptBatch() throws IOException {
+        System.out.println("corrupt batch");
+        IntGapSeq model = new IntGapSeq();
+        JournaledIntLinkedSeq instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        int secondBatch = JOURNAL_HEADER + BATCH_HEADER + 4 * 5;    // four addAfter operations
+
+        for (int i = 0; i < 4; i++) {
+            perform(1, i, model, instance);
+        }
+        for (int i = 4; i < 12; i++) {
+            instance.addAfter(i);   // two more batches, which are lost below
+        }
+        instance.close();
+
+        try (FileChannel channel = FileChannel.open(journal(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0x5A}), secondBatch + BATCH_HEADER + 3);
+        }
+        instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        try {
+            assertSameState("after corruption", model, instance);
+            perform(0, 100, model, instance);
+            perform(3, 0, model, instance);
+            perform(1, 101, model, instance);
+        } finally {
+            instance.close();
+        }
+        assertCleanTail();
+
+        instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        try {
+            assertSameState("after appending", model, instance);
+        } finally {
+            instance.close();
+        }
+    }
+
+    /**
+     * Test of a journal cut off inside a batch, of class
+     * JournaledIntLinkedSeq.
+     */
+    @Test
+    public void testTruncatedJournal() throws IOException {
+        System.out.println("truncated journal");
+        IntGapSeq model = new IntGapSeq();
+        JournaledIntLinkedSeq instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        int secondBatch = JOURNAL_HEADER + BATCH_HEADER + 4 * 5;
+
+        for (int i = 0; i < 4; i++) {
+            perform(1, i, model, instance);
+        }
+        for (int i = 4; i < 8; i++) {
+            instance.addAfter(i);
+        }
+        instance.close();
+
+        try (FileChannel channel = FileChannel.open(journal(), StandardOpenOption.WRITE)) {
+            channel.truncate(secondBatch + BATCH_HEADER + 10);
+        }
+        instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        try {
+            assertSameState("after truncation", model, instance);
+            perform(1, 9, model, instance);
+        } finally {
+            instance.close();
+        }
+        instance = JournaledIntLinkedSeq.open(directory, 4, 4096);
+        try {
+            assertSameState("after appending", model, instance);
+        } finally {
+            instance.close();
+        }
+    }
+
+    /**
+     * Test of operations that were never committed, of class
+     * JournaledIntLinkedSeq: they are lost, and the bytes they left behind
+     * are cleared when the directory is opened.
+     */
+    @Test
+    public void testUncommittedOperations() throws IOException {
+        System.out.println("uncommitted operations");
+        IntGapSeq model = new IntGapSeq();
+        JournaledIntLinkedSeq instance = JournaledIntLinkedSeq.open(directory, 100, 4096);
+        Path saved = directory.resolve("saved");
+
+        for (int i = 0; i < 10; i++) {
+            perform(1, i, model, instance);
+        }
+        instance.commit();
+        for (int i = 10; i < 40; i++) {
+            instance.addBefore(i);  // left in an open batch, whose header is still zero
+        }
+        // The mapped journal already holds the open batch, as it would after a crash
+        Files.copy(journal(), saved);
+        instance.close();
+        Files.move(saved, journal(), StandardCopyOption.REPLACE_EXISTING);
+
+        instance = JournaledIntLinkedSeq.open(directory, 100, 4096);
+        try {
+            assertSameState("after the crash", model, instance);
+        } finally {
+            instance.close();
+        }
+        assertCleanTail();
+
+        instance = JournaledIntLinkedSeq.open(directory, 100, 4096);
+        try {
+            perform(4, 0, model, instance);
+            perform(2, 0, model, instance);
+            perform(0, 50, model, instance);
+        } finally {
+            instance.close();
+        }
+        instance = JournaledIntLinkedSeq.open(directory, 100, 4096);
+        try {
+            assertSameState("after appending", model, instance);
+        } finally {
+            instance.close();
+        }
+    }
+
+    /**
+     * Test of a crash after compact has moved the new snapshot into place but
+     * before it has emptied the journal, of class JournaledIntLinkedSeq: the
+     * old journal must not be replayed a second time.
+     */
+    @Test
+    public void testCrashBetweenMoveAndReset() throws IOException {
+        System.out.println("crash between move and reset");
+        IntGapSeq model = new IntGapSeq();
+        JournaledIntLinkedSeq instance = JournaledIntLinkedSeq.open(directory, 3, 4096);
+        Path saved = directory.resolve("saved");
+
+        for (int i = 0; i < 20; i++) {
+            perform(i % 4 == 3 ? 3 : 1, i, model, instance);
+        }
+        instance.commit();
+        Files.copy(journal(), saved);   // the journal as compact finds it
+        instance.compact();
+        instance.close();
+        Files.move(saved, journal(), StandardCopyOption.REPLACE_EXISTING);
+
+        instance = JournaledIntLinkedSeq.open(directory, 3, 4096);
+        try {
+            assertSameState("after the crash", model, instance);
+            perform(0, 99, model, instance);
+        } finally {
+            instance.close();
+        }
+        assertCleanTail();
+
+        instance = JournaledIntLinkedSeq.open(directory, 3, 4096);
+        try {
+            assertSameState("after appending", model, instance);
+        } finally {
+            instance.close();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.master.tests.linkedlists;
+
+import com.master.datastructures.linkedlists.PersistentIntLinkedBag;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author simon_000
+ */
+public class PersistentIntLinkedBagTest {
+
+    private static final int RANGE = 8;    // elements are drawn from 0 to RANGE-1
+
+    public PersistentIntLinkedBagTest() {
+    }
+
+    /**
+     * Check a bag against the expected number of copies of each element
+     */
+    private static void assertCounts(int expected[], PersistentIntLinkedBag bag) {
+        int total = 0;
+
+        for (int e = 0; e < RANGE; e++) {
+            assertEquals("occurrences of " + e, expected[e], bag.countOccurrences(e));
+            total += expected[e];
+        }
+        assertEquals(total, bag.size());
+    }
+
+    /**
+     * Test of remove method, of class PersistentIntLinkedBag: removing from a
+     * bag that has never been shared, and from a clone, leaves the other bag
+     * unchanged.
+     */
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+        PersistentIntLinkedBag instance = new PersistentIntLinkedBag();
+        PersistentIntLinkedBag snapshot;
+
+        instance.addMany(1, 2, 3, 2, 1);
+        assertTrue(instance.remove(2));     // in place: no other bag holds the nodes
+        assertFalse(instance.remove(7));
+        assertCounts(new int[]{0, 2, 1, 1, 0, 0, 0, 0}, instance);
+
+        snapshot = instance.clone();
+        assertTrue(instance.remove(3));
+        assertTrue(snapshot.remove(1));
+        instance.add(3);
+        assertTrue(instance.remove(1));
+        assertCounts(new int[]{0, 1, 1, 1, 0, 0, 0, 0}, instance);
+        assertCounts(new int[]{0, 1, 1, 1, 0, 0, 0, 0}, snapshot);
+        assertTrue(instance.remove(3));
+        assertCounts(new int[]{0, 1, 1, 1, 0, 0, 0, 0}, snapshot);
+    }
+
+    /**
+     * Random adds, removes, clones, addAlls and unions on a family of bags
+     * that share nodes; every bag must keep its own contents.
+     */
+    @Test
+    public void testSharingAgainstModel() {
+        System.out.println("sharing against a model");
+        Random generator = new Random(9);
+        List<PersistentIntLinkedBag> bags = new ArrayList<>();
+        List<int[]> models = new ArrayList<>();
+        PersistentIntLinkedBag bag;
+        int model[];
+        int other;
+        int e;
+
+        bags.add(new PersistentIntLinkedBag());
+        models.add(new int[RANGE]);
+        for (int step = 0; step < 20000; step++) {
+            int i = generator.nextInt(bags.size());
+            bag = bags.get(i);
+            model = models.get(i);
+            switch (generator.nextInt(6)) {
+                case 0:
+                case 1:
+                    e = generator.nextInt(RANGE);
+                    bag.add(e);
+                    model[e]++;
+                    break;
+                case 2:
+                case 3:
+                    e = generator.nextInt(RANGE);
+                    assertEquals(model[e] > 0, bag.remove(e));
+                    if (model[e] > 0) {
+                        model[e]--;
+                    }
+                    break;
+                case 4:
+                    if (bags.size() < 12) {
+                        bags.add(bag.clone());
+                        models.add(model.clone());
+                    }
+                    break;
+                default:
+                    other = generator.nextInt(bags.size());
+                    if (bag.size() + bags.get(other).size() > 200) {
+                        break;
+                    }
+                    if (generator.nextBoolean()) {
+                        bag.addAll(bags.get(other));
+                        int addend[] = models.get(other);
+                        for (e = 0; e < RANGE; e++) {
+                            model[e] += addend[e];
+                        }
+                    } else if (bags.size() < 12) {
+                        int union[] = model.clone();
+                        int addend[] = models.get(other);
+                        for (e = 0; e < RANGE; e++) {
+                            union[e] += addend[e];
+                        }
+                        bags.add(PersistentIntLinkedBag.union(bag, bags.get(other)));
+                        models.add(union);
+                    }
+                    break;
+            }
+            if (step % 100 == 0) {
+                for (int b = 0; b < bags.size(); b++) {
+                    assertCounts(models.get(b), bags.get(b));
+                }
+            }
+        }
+        for (int b = 0; b < bags.size(); b++) {
+            assertCounts(models.get(b), bags.get(b));
+        }
+    }
+}